@@ -0,0 +1,64 @@
+package gomoku;
+
+/**
+ * Fixed corpus of positions the benchmarks run over, so every run measures the same work.
+ * Positions are games written in Notation from black's first move, taken from engine self-play.
+ */
+final class BenchmarkPositions {
+
+    // four stones round the centre, the side to move has little to go on yet
+    static final String OPENING = "h8 g7 g8 f8";
+
+    // both sides have built shapes across the middle of the board
+    static final String MIDDLEGAME = "h8 g7 g9 i7 f7 h6 f10 j8 g5 f6 f8 i6 g6 i9";
+
+    // white to move against black threats, black wins six plies later in the game it comes from
+    static final String TACTICAL = "h8 g7 g8 f8 h6 h7 i7 f7 j8 k9 i8 k8 i6 e7 d7 i9 i5 i4 f4 g5 j6";
+
+
+    private BenchmarkPositions() { }
+
+
+    /**
+     * @param name opening, middlegame or tactical.
+     *
+     * @return the moves of the named position
+     */
+    static String moves(final String name) {
+        switch (name) {
+            case "opening": return OPENING;
+            case "middlegame": return MIDDLEGAME;
+            case "tactical": return TACTICAL;
+            default: throw new IllegalArgumentException("Unknown position: " + name);
+        }
+    }
+
+
+    /**
+     * Plays the moves of a named position onto a board, black first.
+     *
+     * @param board board to play on, empty.
+     * @param name  opening, middlegame or tactical.
+     *
+     * @return the board
+     */
+    static Board play(final Board board, final String name) {
+        int player = 2;
+        for (String move : moves(name).split(" ")) {
+            final int cell = Notation.parse(move, board.getBoardSize());
+            board.makeMove(player, cell / board.getBoardSize(), cell % board.getBoardSize());
+            player = 3 - player;
+        }
+        return board;
+    }
+
+
+    /**
+     * @param board board with a position played on it.
+     *
+     * @return player to move, 2 black or 1 white
+     */
+    static int sideToMove(final Board board) {
+        return board.getMoveCount() % 2 == 0 ? 2 : 1;
+    }
+}
@@ -0,0 +1,88 @@
+package gomoku;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move generation and win detection over the position corpus.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @Param({ "opening", "middlegame", "tactical" })
+    public String position;
+
+    private Board board;
+    private int player;
+    private int lastRow;
+    private int lastCol;
+
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkPositions.play(new Board(15, 5), position);
+        player = 3 - BenchmarkPositions.sideToMove(board);
+
+        final String[] moves = BenchmarkPositions.moves(position).split(" ");
+        final int last = Notation.parse(moves[moves.length - 1], board.getBoardSize());
+        lastRow = last / board.getBoardSize();
+        lastCol = last % board.getBoardSize();
+    }
+
+
+    @Benchmark
+    public ArrayList<int[]> specificMoves() {
+        return board.getSpecificMoves();
+    }
+
+
+    @Benchmark
+    public int candidateScan() {
+        int count = 0;
+        for (int cell = board.nextCandidate(0); cell >= 0; cell = board.nextCandidate(cell + 1)) count++;
+        return count;
+    }
+
+
+    @Benchmark
+    public boolean checkWinAll() {
+        return board.checkWinAll(player, lastRow, lastCol);
+    }
+
+
+    @Benchmark
+    public void makesFive(final Blackhole blackhole) {
+        final int size = board.getBoardSize();
+        for (int cell = board.nextCandidate(0); cell >= 0; cell = board.nextCandidate(cell + 1)) {
+            blackhole.consume(board.makesFive(3 - player, cell / size, cell % size));
+        }
+    }
+
+
+    @Benchmark
+    public void makeUnmake() {
+        final int size = board.getBoardSize();
+        for (int cell = board.nextCandidate(0); cell >= 0; cell = board.nextCandidate(cell + 1)) {
+            board.makeMove(3 - player, cell / size, cell % size);
+            board.unmakeMove();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package gomoku;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation over the position corpus: scanning every line of the board, rescoring the four lines
+ * through one cell as the search does after each move, and reading the running score.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+
+    @Param({ "opening", "middlegame", "tactical" })
+    public String position;
+
+    private Board board;
+    private Evaluator evaluator;
+    private int cell;
+    private boolean blacksTurn;
+
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkPositions.play(new Board(15, 5), position);
+        evaluator = board.getEvaluator();
+        cell = board.nextCandidate(0);
+        blacksTurn = BenchmarkPositions.sideToMove(board) == 2;
+    }
+
+
+    @Benchmark
+    public int fullScan() {
+        return new Evaluator(board).getScore(blacksTurn, blacksTurn);
+    }
+
+
+    @Benchmark
+    public int rescoreCell() {
+        evaluator.updateCell(cell);
+        return evaluator.getScore(blacksTurn, blacksTurn);
+    }
+
+
+    @Benchmark
+    public int score() {
+        return evaluator.getScore(blacksTurn, blacksTurn) - evaluator.getScore(!blacksTurn, blacksTurn);
+    }
+}
@@ -0,0 +1,72 @@
+package gomoku;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full searches over the position corpus. The engine forgets its earlier searches before every one
+ * so each starts cold, and the nodes counter reports nodes per second next to searches per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({ "opening", "middlegame", "tactical" })
+    public String position;
+
+    @Param({ "2", "3", "4", "5", "6" })
+    public int depth;
+
+    private Board board;
+    private Minimax minimax;
+    private int player;
+
+
+    /**
+     * Nodes searched, reported by JMH as a rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Nodes {
+        public long nodes;
+    }
+
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkPositions.play(new Board(15, 5), position);
+        minimax = new Minimax(board, 16);
+        player = BenchmarkPositions.sideToMove(board);
+    }
+
+
+    @Setup(Level.Invocation)
+    public void newGame() {
+        minimax.newGame();
+    }
+
+
+    @Benchmark
+    public SearchResult getBestMove(final Nodes counter) {
+        final SearchResult result = minimax.getBestMove(depth, player, player == 2);
+        counter.nodes += minimax.getNodesSearched();
+        return result;
+    }
+}
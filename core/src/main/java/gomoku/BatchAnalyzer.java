@@ -0,0 +1,189 @@
+package gomoku;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Analyses a file of positions on a pool of workers and writes one answer line per position, in
+ * the order of the input, in the format of Cli.
+ *
+ *   java -cp gomoku-core.jar gomoku.BatchAnalyzer <settings> <input> [output] [workers]
+ *
+ * Positions are one per line, as Cli reads them: a game in Notation or a whole board. Blank lines
+ * and lines starting with '#' are skipped. Files ending in .gz are read and written compressed
+ * and "-" stands for standard input or output. The budget of every position comes from the
+ * settings: a fixed depth, or a node limit such as "nodes=200000,depth=32". The board size
+ * comes from the settings too, so "size=19" analyses 19x19 positions.
+ *
+ * Only a few positions per worker are read ahead of the answer due next, so a slow output holds
+ * the reading back and memory stays the same however long the input is. Every worker empties
+ * its transposition table before each position, so an answer is the same whichever worker gave
+ * it. With "keep=on" workers keep their tables between positions instead, as Cli does, which
+ * helps positions from the same games but lets scores differ a little from run to run when
+ * there is more than one worker.
+ */
+class BatchAnalyzer {
+
+    // positions read ahead per worker, enough to keep every worker busy while answers are written
+    private static final int POSITIONS_PER_WORKER = 4;
+
+    private final ExecutorService pool;
+    private final ThreadLocal<Cli> engines;
+    private final boolean keepTables;
+    private final int window;
+
+
+    /**
+     * @param settings settings of every worker's engine.
+     * @param workers  number of positions analysed at once.
+     */
+    BatchAnalyzer(final EngineSettings settings, final int workers) {
+        this.pool = Executors.newFixedThreadPool(workers, task -> {
+            final Thread thread = new Thread(task, "gomoku-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.engines = ThreadLocal.withInitial(() -> new Cli(settings));
+        this.keepTables = settings.keepTable;
+        this.window = workers * POSITIONS_PER_WORKER;
+    }
+
+
+    /**
+     * Analyses every position of the input and writes the answers in input order.
+     *
+     * @param in  positions, one per line.
+     * @param out where to write the answers.
+     *
+     * @return number of positions analysed
+     *
+     * @throws IOException if the input cannot be read or the output written.
+     * @throws InterruptedException if interrupted while waiting for an answer.
+     */
+    long run(final BufferedReader in, final Writer out) throws IOException, InterruptedException {
+        final ArrayDeque<Future<String>> pending = new ArrayDeque<>();
+        long positions = 0;
+
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            final String position = line.trim();
+            if (position.isEmpty() || position.startsWith("#")) continue;
+
+            // wait for the oldest answer before reading further ahead
+            if (pending.size() == window) write(pending.removeFirst(), out);
+            pending.addLast(pool.submit(() -> analyse(position)));
+            positions++;
+        }
+        while (!pending.isEmpty()) write(pending.removeFirst(), out);
+
+        out.flush();
+        return positions;
+    }
+
+
+    /**
+     * Runs on a worker.
+     *
+     * @param position a position as Cli reads it.
+     *
+     * @return the answer line for it
+     */
+    private String analyse(final String position) {
+        final Cli engine = engines.get();
+        if (!keepTables) engine.newGame();
+
+        try {
+            return engine.analyse(position);
+        }
+        catch (IllegalArgumentException e) {
+            return "error " + e.getMessage();
+        }
+    }
+
+
+    /**
+     * Waits for an answer and writes it.
+     *
+     * @param answer answer line of a position.
+     * @param out    where to write it.
+     *
+     * @throws IOException if the output cannot be written.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private static void write(final Future<String> answer, final Writer out) throws IOException, InterruptedException {
+        try {
+            out.write(answer.get());
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Analysis failed", e.getCause());
+        }
+        out.write('\n');
+    }
+
+
+    /**
+     * Stops the workers.
+     */
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+
+    private static BufferedReader openInput(final String name) throws IOException {
+        InputStream in = name.equals("-") ? System.in : Files.newInputStream(Paths.get(name));
+        if (name.endsWith(".gz")) in = new GZIPInputStream(in);
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+
+    private static Writer openOutput(final String name) throws IOException {
+        OutputStream out = name.equals("-") ? System.out : Files.newOutputStream(Paths.get(name));
+        if (name.endsWith(".gz")) out = new GZIPOutputStream(out);
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * @param args settings, input file, optional output file and optional number of workers, as above.
+     *
+     * @throws IOException if the files cannot be read or written.
+     * @throws InterruptedException if interrupted while waiting for an answer.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("usage: BatchAnalyzer <settings> <input|-> [output|-] [workers]");
+            System.err.println("settings: depth=4,time=0,nodes=0,mode=seq|split|lazy,threads=1,hash=16,ordering=on|off,size=15,keep=off");
+            System.exit(1);
+        }
+
+        final EngineSettings settings = new EngineSettings(args[0]);
+        final int workers = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        final BatchAnalyzer analyzer = new BatchAnalyzer(settings, workers);
+
+        final long start = System.currentTimeMillis();
+        final long positions;
+        try (BufferedReader in = openInput(args[1]);
+             Writer out = openOutput(args.length > 2 ? args[2] : "-")) {
+            positions = analyzer.run(in, out);
+        }
+        finally {
+            analyzer.shutdown();
+        }
+        System.err.printf("%d positions on %d workers in %.1f s%n", positions, workers, (System.currentTimeMillis() - start) / 1000.0);
+    }
+}
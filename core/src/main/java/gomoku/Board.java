@@ -0,0 +1,751 @@
+package gomoku;
+
+import java.util.*;
+
+public class Board {
+
+    /** Line layouts the stones are packed into */
+    static final int ROW = 0;
+    static final int COLUMN = 1;
+    static final int DIAGONAL = 2;
+    static final int ANTI_DIAGONAL = 3;
+    static final int LAYOUTS = 4;
+
+    // fixed seed so position hashes are the same from run to run
+    private static final long ZOBRIST_SEED = 0x5DEECE66DL;
+
+    private int[][] boardMatrix;
+    private int winLength;
+
+    // occupancy bitsets indexed [layout][player][line], one bit per position along the line
+    private long[][][] lineMasks;
+
+    // line geometry shared between copies, indexed [layout][cell] and [layout][line]
+    private int[][] cellLine;
+    private int[][] cellPosition;
+    private int[][] lineLength;
+    private int[][][] lineCells;
+
+    // cells played so far in order, so moves can be taken back
+    private int[] moveStack;
+    private int moveCount;
+
+    // bounding box of the stones after each number of moves, so taking a move back restores it.
+    // The empty board has its minimums past the last row and column and its maximums at -1.
+    private int[] minRows;
+    private int[] maxRows;
+    private int[] minCols;
+    private int[] maxCols;
+
+    // Zobrist keys indexed [player][cell] and the running hash of the stones on the board
+    private long[][] zobristKeys;
+    private long blackToMoveKey;
+    private long hash;
+
+    // running evaluation, rescored around every stone placed or taken off
+    private Evaluator evaluator;
+
+    static final int DEFAULT_CANDIDATE_RADIUS = 1;
+
+    // candidate moves are empty cells with a stone within candidateRadius rows and columns.
+    // nearbyStones counts those stones per cell so taking a move back is exact.
+    private int candidateRadius;
+    private int[] nearbyStones;
+    private long[] candidates;
+    private int candidateCount;
+
+    /**
+     * Board constructor and initialises every space to '0' empty.
+     *
+     * @param boardSize board dimensions
+     * @param winLength winning length to end game
+     *
+     */
+    public Board(int boardSize, int winLength) {
+        this(boardSize, winLength, DEFAULT_CANDIDATE_RADIUS);
+     }
+
+
+    /**
+     * Board constructor with a custom candidate move radius.
+     *
+     * @param boardSize board dimensions
+     * @param winLength winning length to end game
+     * @param candidateRadius how many rows and columns away from a stone an empty cell is a candidate move
+     *
+     */
+    public Board(int boardSize, int winLength, int candidateRadius) {
+        this.boardMatrix = new int[boardSize][boardSize];
+        this.winLength = winLength;
+
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                this.getBoardMatrix()[row][col] = 0;
+            }
+        }
+
+        initLineGeometry(boardSize);
+        this.lineMasks = new long[LAYOUTS][3][];
+        for (int layout = 0; layout < LAYOUTS; layout++) {
+            for (int player = 1; player <= 2; player++) {
+                lineMasks[layout][player] = new long[lineLength[layout].length];
+            }
+        }
+        this.moveStack = new int[boardSize * boardSize];
+        initBoundingBoxes(boardSize);
+
+        this.candidateRadius = candidateRadius;
+        this.nearbyStones = new int[boardSize * boardSize];
+        this.candidates = new long[(boardSize * boardSize + 63) / 64];
+
+        initZobristKeys(boardSize);
+        this.evaluator = new Evaluator(this);
+     }
+
+
+    /**
+     * Place a move on the board
+     *
+     * @param player player's representation
+     * @param row  move location x axis
+     * @param col  move location y axis
+     */
+    public void makeMoveMatrix(final Board board, final int player, final int row, final int col) {
+            if (player == 1) board.makeMove(1, row, col);
+            else board.makeMove(2, row, col);
+    }
+
+
+    /**
+     * Plays a move in place and pushes it onto the move stack so it can be taken back.
+     *
+     * @param player player's representation, 1 or 2
+     * @param row  move location x axis
+     * @param col  move location y axis
+     */
+    public void makeMove(final int player, final int row, final int col) {
+        placeStone(player, row, col);
+        moveStack[moveCount++] = row * getBoardSize() + col;
+
+        minRows[moveCount] = Math.min(minRows[moveCount - 1], row);
+        maxRows[moveCount] = Math.max(maxRows[moveCount - 1], row);
+        minCols[moveCount] = Math.min(minCols[moveCount - 1], col);
+        maxCols[moveCount] = Math.max(maxCols[moveCount - 1], col);
+    }
+
+
+    /**
+     * Takes back the last move played with makeMove.
+     */
+    public void unmakeMove() {
+        final int cell = moveStack[--moveCount];
+        removeStone(cell / getBoardSize(), cell % getBoardSize());
+    }
+
+
+    /**
+     * Prints board matrix to cmd line for testing purposes
+     */
+    public void printBoardMatrix() {
+        for (int i = 0; i < getBoardSize(); i++) {
+            for (int j = 0; j < getBoardSize(); j++) {
+                System.out.print(getBoardMatrix()[i][j] + " ");
+            }
+            System.out.println();
+        }
+    }
+
+
+    /**
+     * Copy a board matrix
+     *
+     * @param board the board to copy
+     */
+    public Board(final Board board) {
+        int[][] matrixToCopy = board.getBoardMatrix();
+        boardMatrix = new int[matrixToCopy.length][matrixToCopy.length];
+        for (int i = 0; i < matrixToCopy.length; i++) {
+            System.arraycopy(matrixToCopy[i], 0, boardMatrix[i], 0, matrixToCopy.length);
+        }
+        winLength = board.winLength;
+
+        cellLine = board.cellLine;
+        cellPosition = board.cellPosition;
+        lineLength = board.lineLength;
+        lineCells = board.lineCells;
+
+        lineMasks = new long[LAYOUTS][3][];
+        for (int layout = 0; layout < LAYOUTS; layout++) {
+            for (int player = 1; player <= 2; player++) {
+                lineMasks[layout][player] = board.lineMasks[layout][player].clone();
+            }
+        }
+
+        moveStack = board.moveStack.clone();
+        moveCount = board.moveCount;
+        minRows = board.minRows.clone();
+        maxRows = board.maxRows.clone();
+        minCols = board.minCols.clone();
+        maxCols = board.maxCols.clone();
+
+        zobristKeys = board.zobristKeys;
+        blackToMoveKey = board.blackToMoveKey;
+        hash = board.hash;
+
+        candidateRadius = board.candidateRadius;
+        nearbyStones = board.nearbyStones.clone();
+        candidates = board.candidates.clone();
+        candidateCount = board.candidateCount;
+
+        evaluator = new Evaluator(this);
+    }
+
+
+    /**
+     * Works out which line and which position along it every cell sits on for each layout.
+     *
+     * Rows and columns index by row and column. Diagonals (top left to bottom right) are numbered
+     * by row - col and anti-diagonals (top right to bottom left) by row + col, with positions
+     * counted from the top end of the line. lineCells maps each position back to its cell.
+     *
+     * @param boardSize board dimensions
+     */
+    private void initLineGeometry(final int boardSize) {
+        final int lines = 2 * boardSize - 1;
+
+        cellLine = new int[LAYOUTS][boardSize * boardSize];
+        cellPosition = new int[LAYOUTS][boardSize * boardSize];
+        lineLength = new int[][] { new int[boardSize], new int[boardSize], new int[lines], new int[lines] };
+
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                final int cell = row * boardSize + col;
+
+                cellLine[ROW][cell] = row;
+                cellPosition[ROW][cell] = col;
+
+                cellLine[COLUMN][cell] = col;
+                cellPosition[COLUMN][cell] = row;
+
+                cellLine[DIAGONAL][cell] = row - col + boardSize - 1;
+                cellPosition[DIAGONAL][cell] = Math.min(row, col);
+
+                cellLine[ANTI_DIAGONAL][cell] = row + col;
+                cellPosition[ANTI_DIAGONAL][cell] = row - Math.max(0, row + col - boardSize + 1);
+            }
+        }
+
+        for (int line = 0; line < boardSize; line++) {
+            lineLength[ROW][line] = boardSize;
+            lineLength[COLUMN][line] = boardSize;
+        }
+        for (int line = 0; line < lines; line++) {
+            lineLength[DIAGONAL][line] = boardSize - Math.abs(line - boardSize + 1);
+            lineLength[ANTI_DIAGONAL][line] = Math.min(line, 2 * boardSize - 2 - line) + 1;
+        }
+
+        lineCells = new int[LAYOUTS][][];
+        for (int layout = 0; layout < LAYOUTS; layout++) {
+            lineCells[layout] = new int[lineLength[layout].length][];
+            for (int line = 0; line < lineLength[layout].length; line++) {
+                lineCells[layout][line] = new int[lineLength[layout][line]];
+            }
+        }
+        for (int cell = 0; cell < boardSize * boardSize; cell++) {
+            for (int layout = 0; layout < LAYOUTS; layout++) {
+                lineCells[layout][cellLine[layout][cell]][cellPosition[layout][cell]] = cell;
+            }
+        }
+    }
+
+
+    /**
+     * Sets up the bounding box of every number of moves, starting from the empty board.
+     *
+     * @param boardSize board dimensions
+     */
+    private void initBoundingBoxes(final int boardSize) {
+        minRows = new int[boardSize * boardSize + 1];
+        maxRows = new int[boardSize * boardSize + 1];
+        minCols = new int[boardSize * boardSize + 1];
+        maxCols = new int[boardSize * boardSize + 1];
+
+        minRows[0] = boardSize;
+        maxRows[0] = -1;
+        minCols[0] = boardSize;
+        maxCols[0] = -1;
+    }
+
+
+    /**
+     * Draws a random key for every player and cell, used to hash positions incrementally.
+     *
+     * @param boardSize board dimensions
+     */
+    private void initZobristKeys(final int boardSize) {
+        Random random = new Random(ZOBRIST_SEED);
+
+        zobristKeys = new long[3][boardSize * boardSize];
+        for (int player = 1; player <= 2; player++) {
+            for (int cell = 0; cell < boardSize * boardSize; cell++) {
+                zobristKeys[player][cell] = random.nextLong();
+            }
+        }
+        blackToMoveKey = random.nextLong();
+    }
+
+
+    /**
+     * Puts a stone on the matrix and sets its bit in every line layout.
+     *
+     * @param player player placing the stone, 1 or 2
+     * @param row  move location x axis
+     * @param col  move location y axis
+     */
+    private void placeStone(final int player, final int row, final int col) {
+        final int cell = row * getBoardSize() + col;
+
+        boardMatrix[row][col] = player;
+        hash ^= zobristKeys[player][cell];
+        for (int layout = 0; layout < LAYOUTS; layout++) {
+            lineMasks[layout][player][cellLine[layout][cell]] |= 1L << cellPosition[layout][cell];
+        }
+        evaluator.updateCell(cell);
+
+        if (nearbyStones[cell] > 0) clearCandidate(cell);
+        updateNearbyStones(row, col, 1);
+    }
+
+
+    /**
+     * Lifts a stone off the matrix and clears its bit in every line layout.
+     *
+     * @param row  move location x axis
+     * @param col  move location y axis
+     */
+    private void removeStone(final int row, final int col) {
+        final int cell = row * getBoardSize() + col;
+        final int player = boardMatrix[row][col];
+
+        boardMatrix[row][col] = 0;
+        hash ^= zobristKeys[player][cell];
+        for (int layout = 0; layout < LAYOUTS; layout++) {
+            lineMasks[layout][player][cellLine[layout][cell]] &= ~(1L << cellPosition[layout][cell]);
+        }
+        evaluator.updateCell(cell);
+
+        updateNearbyStones(row, col, -1);
+        if (nearbyStones[cell] > 0) setCandidate(cell);
+    }
+
+
+    /**
+     * Adds to or takes from the nearby stone count of every cell around a stone, updating which
+     * empty cells are candidate moves as counts reach or leave zero.
+     *
+     * @param row    row of the stone
+     * @param col    column of the stone
+     * @param change 1 when the stone is placed, -1 when it is taken off
+     */
+    private void updateNearbyStones(final int row, final int col, final int change) {
+        final int boardSize = getBoardSize();
+        final int rowEnd = Math.min(boardSize - 1, row + candidateRadius);
+        final int colEnd = Math.min(boardSize - 1, col + candidateRadius);
+
+        for (int r = Math.max(0, row - candidateRadius); r <= rowEnd; r++) {
+            for (int c = Math.max(0, col - candidateRadius); c <= colEnd; c++) {
+                if (r == row && c == col) continue;
+
+                final int cell = r * boardSize + c;
+                nearbyStones[cell] += change;
+
+                if (boardMatrix[r][c] != 0) continue;
+                if (change > 0 && nearbyStones[cell] == 1) setCandidate(cell);
+                else if (change < 0 && nearbyStones[cell] == 0) clearCandidate(cell);
+            }
+        }
+    }
+
+
+    private void setCandidate(final int cell) {
+        candidates[cell >>> 6] |= 1L << cell;
+        candidateCount++;
+    }
+
+
+    private void clearCandidate(final int cell) {
+        candidates[cell >>> 6] &= ~(1L << cell);
+        candidateCount--;
+    }
+
+
+    /**
+     * @param row board row
+     *
+     * @return bitset of every occupied column on the row, 0 if the row is off the board
+     */
+    private long rowOccupancy(final int row) {
+        if (row < 0 || row >= getBoardSize()) return 0L;
+        return lineMasks[ROW][1][row] | lineMasks[ROW][2][row];
+    }
+
+
+    /**
+     * @return list of available moves as a list of int arrays
+     */
+    public ArrayList<int[]> getAllAvailableMoves () {
+        ArrayList<int[]> availableMoves = new ArrayList<>();
+        final long fullRow = (1L << getBoardSize()) - 1;
+
+        for (int row = 0; row < getBoardSize(); row++) {
+            long empty = ~rowOccupancy(row) & fullRow;
+
+            while (empty != 0) {
+                final int[] coordinate = new int[]{ row, Long.numberOfTrailingZeros(empty) };
+                availableMoves.add(coordinate);
+                empty &= empty - 1;
+            }
+        }
+        return availableMoves;
+    }
+
+
+    /**
+     * Returns specific moves surrounding occupied squares, read from the candidate set kept up to date
+     * by every move
+     *
+     * @return array list of integer arrays
+     *
+     */
+    public ArrayList <int[]> getSpecificMoves() {
+
+        ArrayList <int[]> moveList = new ArrayList <>(candidateCount);
+
+        for (int cell = nextCandidate(0); cell >= 0; cell = nextCandidate(cell + 1)) {
+            moveList.add(new int[] {cell / getBoardSize(), cell % getBoardSize()});
+        }
+        return moveList;
+     }
+
+
+    /**
+     * Finds the next candidate move at or after a cell, in board order. Iterating with
+     * {@code for (cell = nextCandidate(0); cell >= 0; cell = nextCandidate(cell + 1))} allocates nothing.
+     *
+     * @param fromCell board cell index to start looking from
+     *
+     * @return board cell index of the next candidate move, -1 if there are no more
+     */
+    public int nextCandidate(final int fromCell) {
+        final int boardSize = getBoardSize();
+
+        // candidates lie within candidateRadius rows of the stones, so only those rows are scanned
+        final int firstCell = Math.max(0, minRows[moveCount] - candidateRadius) * boardSize;
+        final int lastCell = Math.min(boardSize - 1, maxRows[moveCount] + candidateRadius) * boardSize + boardSize - 1;
+
+        final int cell = Math.max(fromCell, firstCell);
+        if (cell > lastCell) return -1;
+
+        int word = cell >>> 6;
+        final int lastWord = lastCell >>> 6;
+
+        long bits = candidates[word] & (-1L << cell);
+        while (bits == 0) {
+            if (++word > lastWord) return -1;
+            bits = candidates[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+
+    /**
+     * Lines of a layout outside the bounding box of the stones are empty, so scans over every
+     * line can start at this one.
+     *
+     * @param layout ROW, COLUMN, DIAGONAL or ANTI_DIAGONAL
+     *
+     * @return index of the first line crossing the bounding box of the stones, past the last
+     *         line of the layout when the board is empty
+     */
+    int getFirstOccupiedLine(final int layout) {
+        switch (layout) {
+            case ROW: return minRows[moveCount];
+            case COLUMN: return minCols[moveCount];
+            case DIAGONAL: return minRows[moveCount] - maxCols[moveCount] + getBoardSize() - 1;
+            default: return minRows[moveCount] + minCols[moveCount];
+        }
+    }
+
+
+    /**
+     * @param layout ROW, COLUMN, DIAGONAL or ANTI_DIAGONAL
+     *
+     * @return index of the last line crossing the bounding box of the stones, below the first
+     *         when the board is empty
+     */
+    int getLastOccupiedLine(final int layout) {
+        switch (layout) {
+            case ROW: return maxRows[moveCount];
+            case COLUMN: return maxCols[moveCount];
+            case DIAGONAL: return maxRows[moveCount] - minCols[moveCount] + getBoardSize() - 1;
+            default: return maxRows[moveCount] + maxCols[moveCount];
+        }
+    }
+
+
+    /**
+     * @return int number of candidate moves, empty cells near a stone
+     */
+    int getCandidateCount() { return candidateCount; }
+
+
+    /**
+     * Checks if a move is available for play
+     *
+     * @param row  move location x axis
+     * @param col  move location y axis
+     * @return true if move available else false if not
+     *
+     */
+    public boolean isMoveAvailable(final int row, final int col) {
+        if (row < 0 || row >= getBoardSize() || col < 0 || col >= getBoardSize()) return false;
+        return (rowOccupancy(row) >>> col & 1L) == 0;
+    }
+
+
+    /**
+     * Removes a move just played from list of available moves
+     */
+    public void removeMove(final int row, final int col) {
+        getAllAvailableMoves().removeIf(a -> Arrays.equals(a, new int[]{ row, col }));
+    }
+
+
+    /**
+     * Counts the run of a player's stones through a cell along one layout, counting the cell itself.
+     *
+     * @param layout  ROW, COLUMN, DIAGONAL or ANTI_DIAGONAL
+     * @param player  player to count stones for
+     * @param row     cell row
+     * @param col     cell column
+     *
+     * @return length of the consecutive run through the cell
+     */
+    private int runLength(final int layout, final int player, final int row, final int col) {
+        final int cell = row * getBoardSize() + col;
+        final int position = cellPosition[layout][cell];
+        final long stones = lineMasks[layout][player][cellLine[layout][cell]] | (1L << position);
+
+        int forwards = Long.numberOfTrailingZeros(~(stones >>> position));
+        int backwards = Long.numberOfTrailingZeros(~(Long.reverse(stones) >>> (63 - position)));
+        return forwards + backwards - 1;
+    }
+
+
+    /**
+     * Checks if there is a win on horizontal axis
+     *
+     * @param board   board to check
+     * @param player  player to check if won
+     * @param row     last played row location
+     * @param col     last played column location
+     *
+     * @return true if win else false if no win
+     *
+     */
+    private boolean isHorizontalWin(final Board board, final int player,
+                                    final int row, final int col) {
+        return (board.runLength(ROW, player, row, col) == getWinLength());
+    }
+
+    /**
+     * Checks if there is a win on vertical axis
+     *
+     * @param board   board to check
+     * @param player  player to check if won
+     * @param row     last played row location
+     * @param col     last played column location
+     *
+     * @return true if win else false if no win
+     *
+     */
+    private boolean isVerticalWin(final Board board, final int player, final int row, final int col) {
+        return (board.runLength(COLUMN, player, row, col) == getWinLength());
+    }
+
+
+    /**
+     * Checks if there is a win on left to right diagonals
+     *
+     * @param board   board to check
+     * @param player  player to check if won
+     * @param row     last played row location
+     * @param col     last played column location
+     *
+     * @return true if win else false if no win
+     *
+     */
+    private boolean isDiagonalWinRight(final Board board, final int player, final int row, final int col) {
+        return (board.runLength(DIAGONAL, player, row, col) == getWinLength());
+    }
+
+    /**
+     * Checks if there is a win on right to left diagonals
+     *
+     * @param board   board to check
+     * @param player  player to check if won
+     * @param row     last played row location
+     * @param col     last played column location
+     *
+     * @return true if win else false if no win
+     *
+     */
+    private boolean isDiagonalWinLeft(final Board board, final int player, final int row, final int col) {
+        return (board.runLength(ANTI_DIAGONAL, player, row, col) == getWinLength());
+    }
+
+
+    /**
+     * Checks if placing a stone would make five, counting along the four lines through the cell
+     * without playing the move.
+     *
+     * @param player  player to check for
+     * @param row     row of the cell
+     * @param col     column of the cell
+     *
+     * @return true if the stone would make a winning run else false
+     *
+     */
+    public boolean makesFive(final int player, final int row, final int col) {
+        for (int layout = 0; layout < LAYOUTS; layout++) {
+            if (runLength(layout, player, row, col) == getWinLength()) return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Checks all axis to find win from last played move
+     *
+     * @param player  player to check if won
+     * @param row     last played row location
+     * @param col     last played column location
+     *
+     * @return true if win else false if no win
+     *
+     */
+    public boolean checkWinAll(final int player, final int row, final int col) {
+        return isDiagonalWinLeft(this, player, row, col) ||
+               isDiagonalWinRight(this, player, row, col) ||
+               isVerticalWin(this, player, row, col)      ||
+               isHorizontalWin(this, player, row, col);
+    }
+
+
+    /**
+     * @param layout ROW, COLUMN, DIAGONAL or ANTI_DIAGONAL
+     * @param player player whose stones to return
+     * @param line   line index within the layout
+     *
+     * @return bitset of the player's stones along the line, bit 0 at the top (or left) end
+     */
+    long getLineMask(final int layout, final int player, final int line) { return lineMasks[layout][player][line]; }
+
+
+    /**
+     * @param layout ROW, COLUMN, DIAGONAL or ANTI_DIAGONAL
+     * @param cell   board cell index, row * boardSize + col
+     *
+     * @return int index of the line through the cell
+     */
+    int getCellLine(final int layout, final int cell) { return cellLine[layout][cell]; }
+
+
+    /**
+     * @param layout ROW, COLUMN, DIAGONAL or ANTI_DIAGONAL
+     * @param cell   board cell index, row * boardSize + col
+     *
+     * @return int position of the cell along its line
+     */
+    int getCellPosition(final int layout, final int cell) { return cellPosition[layout][cell]; }
+
+
+    /**
+     * @param layout   ROW, COLUMN, DIAGONAL or ANTI_DIAGONAL
+     * @param line     line index within the layout
+     * @param position position along the line
+     *
+     * @return int board cell index at that position
+     */
+    int getLineCell(final int layout, final int line, final int position) { return lineCells[layout][line][position]; }
+
+
+    /**
+     * @param layout ROW, COLUMN, DIAGONAL or ANTI_DIAGONAL
+     *
+     * @return int number of lines in the layout
+     */
+    int getLineCount(final int layout) { return lineLength[layout].length; }
+
+
+    /**
+     * @param layout ROW, COLUMN, DIAGONAL or ANTI_DIAGONAL
+     * @param line   line index within the layout
+     *
+     * @return int number of cells on the line
+     */
+    int getLineLength(final int layout, final int line) { return lineLength[layout][line]; }
+
+
+    /**
+     * @param blackToMove true if black is the side to move in the position
+     *
+     * @return long Zobrist hash of the stones on the board and the side to move
+     */
+    public long getHash(final boolean blackToMove) { return blackToMove ? hash ^ blackToMoveKey : hash; }
+
+
+    /**
+     * @param player player 1 or 2
+     * @param cell   board cell index, row * boardSize + col
+     *
+     * @return long Zobrist key of a stone of the player on the cell
+     */
+    long getZobristKey(final int player, final int cell) { return zobristKeys[player][cell]; }
+
+
+    /**
+     * @return long Zobrist key mixed into the hash when black is to move
+     */
+    long getBlackToMoveKey() { return blackToMoveKey; }
+
+
+    /**
+     * @return int number of moves on the move stack
+     */
+    public int getMoveCount() { return moveCount; }
+
+
+    /**
+     * @return Evaluator running evaluation of the board
+     */
+    Evaluator getEvaluator() { return evaluator; }
+
+
+    /**
+     * @return int[][] boardMatrix
+     */
+    public int[][] getBoardMatrix () { return boardMatrix; }
+
+
+    /**
+     * @return int boardSize
+     */
+    public int getBoardSize() { return boardMatrix.length; }
+
+
+    /**
+     * @return int winLength
+     */
+    public int getWinLength() { return winLength; }
+}
@@ -0,0 +1,180 @@
+package gomoku;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Headless entry point of the engine. It loads nothing of the UI, so it starts as fast as the JVM.
+ *
+ *   java -jar gomoku-core.jar [settings] [moves...]
+ *
+ * Settings are described at EngineSettings, e.g. "depth=8,time=1000,size=19", the board being
+ * 15x15 unless size says otherwise. Moves are a game in Notation from black's first move, e.g.
+ * "h8 i9 h9"; a position may also be a whole board as Notation.parseBoard reads it, black being
+ * to move if the stones are even. With moves on the command line the best move of that position
+ * is printed. Without, a position is read from every line of standard input, a blank line being
+ * the empty board, and one line is printed for each:
+ *
+ *   h10 score 84 depth 6 nodes 51234 ms 212
+ *
+ * Lines that are not a position are answered with "error" and the reason. The engine keeps its
+ * transposition table between lines, so positions from the same game help each other.
+ */
+public class Cli {
+
+    private static final int WIN_LENGTH = 5;
+
+    private final EngineSettings settings;
+    private final int boardSize;
+    private final Board board;
+    private final Minimax minimax;
+
+
+    /**
+     * @param settings settings of the engine.
+     */
+    Cli(final EngineSettings settings) {
+        this.settings = settings;
+        this.boardSize = settings.boardSize;
+        this.board = new Board(boardSize, WIN_LENGTH);
+        this.minimax = settings.create(board);
+    }
+
+
+    /**
+     * Forgets everything learnt from earlier positions, so the next answer depends only on its
+     * own position.
+     */
+    void newGame() {
+        minimax.newGame();
+    }
+
+
+    /**
+     * Finds the best move of a position.
+     *
+     * @param position the game so far in Notation, separated by spaces or commas, or a board.
+     *
+     * @return the move, its score and search statistics, or "none" if the game is over
+     *
+     * @throws IllegalArgumentException if the text is not a position on the board
+     */
+    String analyse(final String position) {
+        while (board.getMoveCount() > 0) board.unmakeMove();
+
+        final String text = position.trim();
+        final int player = Notation.isBoard(text, boardSize) ? setUpBoard(text) : setUpGame(text);
+        if (player == 0 || board.getMoveCount() == boardSize * boardSize) return "none";
+
+        // the search only looks next to stones, so the first stone goes in the centre
+        final long start = System.nanoTime();
+        final SearchResult result = board.getMoveCount() == 0 ? new SearchResult(boardSize / 2, boardSize / 2, 0, 0)
+                                                              : settings.move(minimax, player);
+        final long elapsed = (System.nanoTime() - start) / 1000000;
+        if (result == null) return "none";
+
+        final long nodes = result.getStats() == null ? 0 : result.getStats().getNodes();
+        return Notation.toText(result.getRow(), result.getCol(), boardSize) + " score " + result.getScore()
+                + " depth " + result.getDepth() + " nodes " + nodes + " ms " + elapsed;
+    }
+
+
+    /**
+     * Plays a game onto the empty board.
+     *
+     * @param moves the game in Notation, separated by spaces or commas.
+     *
+     * @return player to move, 0 if a move made five
+     */
+    private int setUpGame(final String moves) {
+        int player = 2;
+        for (String move : moves.split("[\\s,]+")) {
+            if (move.isEmpty()) continue;
+
+            final int cell = Notation.parse(move, boardSize);
+            if (!board.isMoveAvailable(cell / boardSize, cell % boardSize)) throw new IllegalArgumentException("Move played twice: " + move);
+            if (board.makesFive(player, cell / boardSize, cell % boardSize)) return 0;
+
+            board.makeMove(player, cell / boardSize, cell % boardSize);
+            player = 3 - player;
+        }
+        return player;
+    }
+
+
+    /**
+     * Puts the stones of a board onto the empty board.
+     *
+     * @param text the board as Notation.parseBoard reads it.
+     *
+     * @return player to move, 0 if there is a five on the board
+     */
+    private int setUpBoard(final String text) {
+        final int[] stones = Notation.parseBoard(text, boardSize);
+
+        int black = 0;
+        int white = 0;
+        for (int stone : stones) {
+            if (stone == 2) black++;
+            else if (stone == 1) white++;
+        }
+        if (black != white && black != white + 1) throw new IllegalArgumentException("Not a position black started: " + black + " black, " + white + " white");
+
+        boolean five = false;
+        for (int cell = 0; cell < stones.length; cell++) {
+            if (stones[cell] == 0) continue;
+            five |= board.makesFive(stones[cell], cell / boardSize, cell % boardSize);
+            board.makeMove(stones[cell], cell / boardSize, cell % boardSize);
+        }
+        return five ? 0 : black == white ? 2 : 1;
+    }
+
+
+    /**
+     * Answers every position read from the input.
+     *
+     * @param in  positions, one per line.
+     * @param out where to print the answers.
+     *
+     * @throws IOException if the input cannot be read.
+     */
+    void run(final BufferedReader in, final PrintStream out) throws IOException {
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            try {
+                out.println(analyse(line));
+            }
+            catch (IllegalArgumentException e) {
+                out.println("error " + e.getMessage());
+            }
+            out.flush();
+        }
+    }
+
+
+    /**
+     * @param args optional settings, then optional moves, as above.
+     *
+     * @throws IOException if standard input cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        final boolean hasSettings = args.length > 0 && args[0].contains("=");
+        final Cli cli = new Cli(new EngineSettings(hasSettings ? args[0] : ""));
+
+        if (args.length > (hasSettings ? 1 : 0)) {
+            final String moves = String.join(" ", Arrays.copyOfRange(args, hasSettings ? 1 : 0, args.length));
+            try {
+                System.out.println(cli.analyse(moves));
+            }
+            catch (IllegalArgumentException e) {
+                System.err.println("error " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+        cli.run(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)), System.out);
+    }
+}
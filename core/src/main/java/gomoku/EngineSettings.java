@@ -0,0 +1,106 @@
+package gomoku;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Settings of one engine, read from text such as "depth=6,time=200,mode=lazy,threads=2".
+ * Keys: depth (max depth), time (milliseconds per move, 0 to always search to depth), mode
+ * (seq, split or lazy), threads, hash (transposition table megabytes), ordering (on or off),
+ * book (opening book file), nodes (nodes per move, 0 for no limit), size (board size, 15 by
+ * default) and keep (on to keep a batch worker's transposition table between positions, off by
+ * default). With a node limit the search deepens up to depth until the nodes or the time run out.
+ */
+class EngineSettings {
+
+    // boards from a five in a row up to the columns Notation can letter, a to z
+    static final int MIN_BOARD_SIZE = 5;
+    static final int MAX_BOARD_SIZE = 26;
+
+    int depth = 4;
+    long moveTime = 0;
+    long nodeLimit = 0;
+    int boardSize = 15;
+    int searchMode = Minimax.SEQUENTIAL;
+    int threads = 1;
+    int tableSizeMb = 16;
+    boolean moveOrdering = true;
+    boolean keepTable = false;
+    String bookFile;
+    final String name;
+
+
+    /**
+     * @param settings comma separated key=value settings, as above.
+     *
+     * @throws IllegalArgumentException if a setting is not understood
+     */
+    EngineSettings(final String settings) {
+        this.name = settings;
+        if (settings.isEmpty()) return;
+
+        for (String setting : settings.split(",")) {
+            final String[] pair = setting.split("=", 2);
+            if (pair.length != 2) throw new IllegalArgumentException("Not key=value: " + setting);
+
+            switch (pair[0]) {
+                case "depth": depth = Integer.parseInt(pair[1]); break;
+                case "time": moveTime = Long.parseLong(pair[1]); break;
+                case "threads": threads = Integer.parseInt(pair[1]); break;
+                case "nodes": nodeLimit = Long.parseLong(pair[1]); break;
+                case "size": boardSize = Integer.parseInt(pair[1]); break;
+                case "hash": tableSizeMb = Integer.parseInt(pair[1]); break;
+                case "ordering": moveOrdering = !pair[1].equals("off"); break;
+                case "keep": keepTable = pair[1].equals("on"); break;
+                case "book": bookFile = pair[1]; break;
+                case "mode":
+                    if (pair[1].equals("seq")) searchMode = Minimax.SEQUENTIAL;
+                    else if (pair[1].equals("split")) searchMode = Minimax.ROOT_SPLIT;
+                    else if (pair[1].equals("lazy")) searchMode = Minimax.LAZY_SMP;
+                    else throw new IllegalArgumentException("Unknown search mode: " + pair[1]);
+                    break;
+                default: throw new IllegalArgumentException("Unknown engine setting: " + pair[0]);
+            }
+        }
+
+        if (boardSize < MIN_BOARD_SIZE || boardSize > MAX_BOARD_SIZE) throw new IllegalArgumentException("Unsupported board size: " + boardSize);
+    }
+
+
+    /**
+     * @param board board the engine plays on.
+     *
+     * @return a new search with these settings
+     *
+     * @throws IllegalArgumentException if the opening book cannot be read
+     */
+    Minimax create(final Board board) {
+        final Minimax minimax = new Minimax(board, tableSizeMb, searchMode, threads);
+        minimax.setMoveOrdering(moveOrdering);
+        minimax.setNodeLimit(nodeLimit);
+
+        if (bookFile != null) {
+            try {
+                minimax.setOpeningBook(new OpeningBook(Paths.get(bookFile)));
+            }
+            catch (IOException e) {
+                throw new IllegalArgumentException("Opening book not loaded: " + e.getMessage(), e);
+            }
+        }
+        return minimax;
+    }
+
+
+    /**
+     * @param minimax search with these settings.
+     * @param player  player to move.
+     *
+     * @return the move the engine plays
+     */
+    SearchResult move(final Minimax minimax, final int player) {
+        if (moveTime <= 0 && nodeLimit <= 0) return minimax.getBestMove(depth, player, player == 2);
+
+        // with only a node limit the clock is never the one to stop the search
+        return minimax.getBestMoveTimed(depth, moveTime > 0 ? moveTime : Integer.MAX_VALUE, player, player == 2);
+    }
+}
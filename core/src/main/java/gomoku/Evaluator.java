@@ -0,0 +1,340 @@
+package gomoku;
+
+class Evaluator {
+
+    // runs longer than this score the same, as overlines
+    private static final int MAX_RUN = 6;
+
+    // broken shapes are looked up over windows of six cells
+    private static final int WINDOW = 6;
+    private static final int WINDOW_MASK = (1 << WINDOW) - 1;
+    private static final int WINDOW_CODES = 729;
+
+    // score of a run by its length, each row giving it with both ends open, one end blocked and
+    // both blocked, for the side waiting and the side to move. Runs short of five blocked at both
+    // ends and overlines score nothing, a five always wins.
+    private static final int FIVE = 200000000;
+
+    private static final int[][] WAITING_RUN_SCORES = {
+            { 0, 0, 0 },
+            { 1, 1, 0 },
+            { 12, 6, 0 },
+            { 400, 5, 0 },
+            { 500000, 700, 0 },
+            { FIVE, FIVE, FIVE },
+            { 0, 0, 0 }
+    };
+
+    private static final int[][] TO_MOVE_RUN_SCORES = {
+            { 0, 0, 0 },
+            { 1, 1, 0 },
+            { 14, 6, 0 },
+            { 100000, 20, 0 },
+            { 2000000, 1900000, 0 },
+            { FIVE, FIVE, FIVE },
+            { 0, 0, 0 }
+    };
+
+    private static final int B_SPLIT_FOUR = 1900000;
+    private static final int W_SPLIT_FOUR = 700;
+
+    private static final int B_SPLIT_THREE_TWO_OPEN = 100000;
+    private static final int W_SPLIT_THREE_TWO_OPEN = 400;
+
+    // lookup tables built once at startup, indexed [playersTurn][code]
+    private static final int[][] RUN_SCORES = buildRunScores();
+    private static final int[][] SHAPE_SCORES = buildShapeScores();
+
+    // base 3 code of every six bit mask
+    private static final int[] BASE_3 = new int[1 << WINDOW];
+
+    static {
+        for (int mask = 0; mask < BASE_3.length; mask++) BASE_3[mask] = toBase3(mask);
+    }
+
+    private final Board board;
+
+    // a line lets a player make a four with a window this long holding all but two of their
+    // stones and none of the opponent's
+    private final int winLength;
+
+    // cached score of every line indexed [layout][line][slot], see scoreSlot for the slot order,
+    // then 1 in fourSlot if the line lets that player make a four
+    private final int[][][] lineScores;
+
+    // running total of the cached line scores per slot, the four slots counting lines
+    private final int[] totals = new int[6];
+
+
+    /**
+     * Evaluator constructor scores every line of the board once. After that only lines through
+     * cells that change are rescored.
+     *
+     * @param board board to keep a running evaluation of.
+     *
+     */
+    Evaluator(final Board board) {
+        this.board = board;
+        this.winLength = board.getWinLength();
+        this.lineScores = new int[Board.LAYOUTS][][];
+
+        for (int layout = 0; layout < Board.LAYOUTS; layout++) {
+            lineScores[layout] = new int[board.getLineCount(layout)][6];
+            for (int line = 0; line < board.getLineCount(layout); line++) {
+                rescoreLine(layout, line);
+            }
+        }
+    }
+
+
+    /**
+     * Rescores the four lines through a cell after a stone is placed on or taken off it.
+     *
+     * @param cell board cell index that changed.
+     *
+     */
+    void updateCell(final int cell) {
+        for (int layout = 0; layout < Board.LAYOUTS; layout++) {
+            rescoreLine(layout, board.getCellLine(layout, cell));
+        }
+    }
+
+
+    /**
+     * Returns the running evaluation of the board for a player.
+     *
+     * @param forBlack which player evaluating board for? black = true, white = false.
+     * @param blacksTurn true if blacks turn to move else false
+     *
+     * @return evaluation score as integer.
+     */
+    int getScore(final boolean forBlack, final boolean blacksTurn) {
+        return totals[scoreSlot(forBlack ? 2 : 1, forBlack == blacksTurn)];
+    }
+
+
+    /**
+     * Tells whether a player has any line to make a four on, the first move of every win by
+     * fours. Without one a threat search for that player finds nothing.
+     *
+     * @param player player to check, 1 or 2
+     *
+     * @return true if some line holds a window with all but two cells the player's and none the opponent's
+     */
+    boolean canMakeFour(final int player) {
+        return totals[fourSlot(player)] > 0;
+    }
+
+
+    /**
+     * Hashes every score the lookup tables hold, so it changes whenever an evaluation parameter does.
+     *
+     * @return hash of the evaluation parameters
+     */
+    static long getParametersHash() {
+        long hash = 1125899906842597L;
+        for (int[][] scores : new int[][][]{ RUN_SCORES, SHAPE_SCORES }) {
+            for (int[] turnScores : scores) {
+                for (int score : turnScores) hash = 31 * hash + score;
+            }
+        }
+        return hash;
+    }
+
+
+    /**
+     * Scores one line for both players, with and without the turn, and updates the totals.
+     *
+     * @param layout Board.ROW, Board.COLUMN, Board.DIAGONAL or Board.ANTI_DIAGONAL
+     * @param line line index within the layout
+     *
+     */
+    private void rescoreLine(final int layout, final int line) {
+        final long whiteStones = board.getLineMask(layout, 1, line);
+        final long blackStones = board.getLineMask(layout, 2, line);
+        final int length = board.getLineLength(layout, line);
+        final int[] scores = lineScores[layout][line];
+
+        rescorePlayer(scores, 1, whiteStones, blackStones, length);
+        rescorePlayer(scores, 2, blackStones, whiteStones, length);
+    }
+
+
+    /**
+     * Scores one player's stones on a line from the lookup tables, with and without the turn.
+     *
+     * Every run of consecutive stones is looked up by its length and blocked ends. Every six cell
+     * window is then looked up by its base 3 code to add broken shapes the runs miss. Cells off the
+     * end of the line count as blocked, and the line is shifted up one so the window can start on
+     * the cell before the line.
+     *
+     * @param scores cached scores of the line.
+     * @param player player scored, 1 or 2
+     * @param stones bitset of the player's stones along the line.
+     * @param opponentStones bitset of the opponent's stones along the line.
+     * @param length number of cells on the line.
+     *
+     */
+    private void rescorePlayer(final int[] scores, final int player, final long stones,
+                               final long opponentStones, final int length) {
+
+        final long shiftedStones = stones << 1;
+        final long shiftedBlocked = ((opponentStones | (-1L << length)) << 1) | 1L;
+
+        int waitingScore = 0;
+        int toMoveScore = 0;
+
+        long runs = stones;
+        while (runs != 0) {
+            int start = Long.numberOfTrailingZeros(runs);
+            int consecutive = Long.numberOfTrailingZeros(~(runs >>> start));
+            int end = start + consecutive;
+
+            // cells either side of the run sit at start and end + 1 once shifted
+            int blocks = (int) (shiftedBlocked >>> start & 1L) + (int) (shiftedBlocked >>> (end + 1) & 1L);
+            int index = Math.min(consecutive, MAX_RUN) * 3 + blocks;
+
+            waitingScore += RUN_SCORES[0][index];
+            toMoveScore += RUN_SCORES[1][index];
+
+            // clear the run just scored
+            runs &= -1L << end;
+        }
+
+        // broken shapes need at least three stones, and a window scores only with a stone in its
+        // last five cells, so windows are tried from four cells before the first stone to the last
+        if (Long.bitCount(stones) >= 3) {
+            final int firstWindow = Math.max(0, Long.numberOfTrailingZeros(stones) - (WINDOW - 2));
+            final int lastWindow = Math.min(length - 4, 63 - Long.numberOfLeadingZeros(stones));
+
+            for (int window = firstWindow; window <= lastWindow; window++) {
+                int index = BASE_3[(int) (shiftedStones >>> window) & WINDOW_MASK]
+                        + 2 * BASE_3[(int) (shiftedBlocked >>> window) & WINDOW_MASK];
+
+                waitingScore += SHAPE_SCORES[0][index];
+                toMoveScore += SHAPE_SCORES[1][index];
+            }
+        }
+
+        setLineScore(scores, scoreSlot(player, false), waitingScore);
+        setLineScore(scores, scoreSlot(player, true), toMoveScore);
+        setLineScore(scores, fourSlot(player), canMakeFour(stones, opponentStones, length) ? 1 : 0);
+    }
+
+
+    /**
+     * @param stones bitset of the player's stones along the line.
+     * @param opponentStones bitset of the opponent's stones along the line.
+     * @param length number of cells on the line.
+     *
+     * @return true if one move can make a four on the line
+     */
+    private boolean canMakeFour(final long stones, final long opponentStones, final int length) {
+        final int needed = winLength - 2;
+        if (Long.bitCount(stones) < needed) return false;
+
+        // only windows over a stone of the player's can hold enough of them
+        final long windowMask = (1L << winLength) - 1;
+        final int firstWindow = Math.max(0, Long.numberOfTrailingZeros(stones) - (winLength - 1));
+        final int lastWindow = Math.min(length - winLength, 63 - Long.numberOfLeadingZeros(stones));
+
+        for (int window = firstWindow; window <= lastWindow; window++) {
+            if ((opponentStones >>> window & windowMask) == 0
+                    && Long.bitCount(stones >>> window & windowMask) >= needed) return true;
+        }
+        return false;
+    }
+
+
+    private void setLineScore(final int[] scores, final int slot, final int score) {
+        totals[slot] += score - scores[slot];
+        scores[slot] = score;
+    }
+
+
+    /**
+     * @param player player scored, 1 or 2
+     * @param playersTurn true if it is that player's turn to move
+     *
+     * @return index of the score in the per line and total arrays
+     */
+    private static int scoreSlot(final int player, final boolean playersTurn) {
+        return (player - 1) * 2 + (playersTurn ? 1 : 0);
+    }
+
+
+    /**
+     * @param player player checked, 1 or 2
+     *
+     * @return index in the per line and total arrays of whether the player can make a four
+     */
+    private static int fourSlot(final int player) {
+        return 3 + player;
+    }
+
+
+    /**
+     * Lays the run score tables out flat, so a run is looked up by one index.
+     *
+     * @return run scores indexed [playersTurn][length * 3 + blocks]
+     */
+    private static int[][] buildRunScores() {
+        int[][] runScores = new int[2][(MAX_RUN + 1) * 3];
+
+        for (int count = 1; count <= MAX_RUN; count++) {
+            for (int blocks = 0; blocks <= 2; blocks++) {
+                runScores[0][count * 3 + blocks] = WAITING_RUN_SCORES[count][blocks];
+                runScores[1][count * 3 + blocks] = TO_MOVE_RUN_SCORES[count][blocks];
+            }
+        }
+        return runScores;
+    }
+
+
+    /**
+     * Builds the score of every six cell window, indexed by its base 3 code where each digit is
+     * 0 empty, 1 own stone or 2 blocked. Only broken shapes score, runs are scored separately.
+     *
+     * @return shape scores indexed [playersTurn][code]
+     */
+    private static int[][] buildShapeScores() {
+        int[][] shapeScores = new int[2][WINDOW_CODES];
+
+        for (int code = 0; code < WINDOW_CODES; code++) {
+            StringBuilder window = new StringBuilder();
+            for (int cell = 0, rest = code; cell < WINDOW; cell++, rest /= 3) {
+                window.append("_XB".charAt(rest % 3));
+            }
+
+            String cells = window.toString();
+            String lastFive = cells.substring(1);
+
+            // four with a gap, one move from five
+            if (lastFive.equals("XX_XX") || lastFive.equals("X_XXX") || lastFive.equals("XXX_X")) {
+                shapeScores[0][code] = W_SPLIT_FOUR;
+                shapeScores[1][code] = B_SPLIT_FOUR;
+            }
+
+            // open three with a gap, one move from an open four
+            else if (cells.equals("_XX_X_") || cells.equals("_X_XX_")) {
+                shapeScores[0][code] = W_SPLIT_THREE_TWO_OPEN;
+                shapeScores[1][code] = B_SPLIT_THREE_TWO_OPEN;
+            }
+        }
+        return shapeScores;
+    }
+
+
+    /**
+     * @param mask bitset of up to six cells
+     *
+     * @return the bitset read as base 3 digits, bit i adding 3^i
+     */
+    private static int toBase3(final int mask) {
+        int code = 0;
+        for (int bit = WINDOW - 1; bit >= 0; bit--) {
+            code = code * 3 + (mask >>> bit & 1);
+        }
+        return code;
+    }
+}
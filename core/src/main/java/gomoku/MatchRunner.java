@@ -0,0 +1,302 @@
+package gomoku;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class MatchRunner {
+
+    // every opening is played twice, each engine taking black once, so neither gains from the opening
+    private static final int GAMES_PER_OPENING = 2;
+
+    // SPRT hypotheses in Elo and error rates used unless given on the command line
+    private static final double DEFAULT_ELO0 = 0;
+    private static final double DEFAULT_ELO1 = 10;
+    private static final double SPRT_ALPHA = 0.05;
+    private static final double SPRT_BETA = 0.05;
+
+    private final EngineSettings first;
+    private final EngineSettings second;
+    private final int boardSize;
+    private final int winLength;
+    private final int openingPlies;
+
+
+    /**
+     * Outcome and search statistics of one game.
+     */
+    static final class GameResult {
+
+        // 1 the first engine won, 0 draw, -1 the second engine won
+        int outcome;
+
+        // per engine: nodes searched, nanoseconds spent searching them and every move's time
+        final long[] nodes = new long[2];
+        final long[] searchNanos = new long[2];
+        final List<List<Long>> moveNanos = Arrays.asList(new ArrayList<>(), new ArrayList<>());
+    }
+
+
+    /**
+     * Match runner constructor.
+     *
+     * @param first        engine the results are reported for.
+     * @param second       engine it plays against.
+     * @param boardSize    board dimensions
+     * @param winLength    winning length to end game
+     * @param openingPlies random moves played after the centre before the engines take over.
+     *
+     */
+    MatchRunner(final EngineSettings first, final EngineSettings second, final int boardSize, final int winLength, final int openingPlies) {
+        this.first = first;
+        this.second = second;
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+        this.openingPlies = openingPlies;
+    }
+
+
+    /**
+     * Plays one game. The opening is the centre then random moves next to the stones on the board,
+     * chosen by the seed so both games of a pair get the same one.
+     *
+     * @param seed       seed of the opening.
+     * @param firstBlack true if the first engine plays black.
+     *
+     * @return outcome and search statistics of the game
+     */
+    GameResult playGame(final long seed, final boolean firstBlack) {
+        final Board board = new Board(boardSize, winLength);
+        final Random random = new Random(seed);
+        final int centre = boardSize / 2;
+        int player = 2;
+
+        board.makeMove(player, centre, centre);
+        for (int ply = 0; ply < openingPlies; ply++) {
+            player = 3 - player;
+            final List<int[]> candidates = board.getSpecificMoves();
+            final int[] move = candidates.get(random.nextInt(candidates.size()));
+            board.makeMove(player, move[0], move[1]);
+        }
+
+        final EngineSettings[] settings = { first, second };
+        final GameResult result = new GameResult();
+
+        // the engines let their threads go once the game is over
+        try (Minimax firstEngine = first.create(board); Minimax secondEngine = second.create(board)) {
+
+            // index 0 is the first engine, whichever colour it plays
+            final Minimax[] engines = { firstEngine, secondEngine };
+
+            while (board.getMoveCount() < boardSize * boardSize) {
+                player = 3 - player;
+                final int engine = (player == 2) == firstBlack ? 0 : 1;
+
+                final long start = System.nanoTime();
+                final SearchResult move = settings[engine].move(engines[engine], player);
+                final long elapsed = System.nanoTime() - start;
+                if (move == null) break;
+
+                // moves found without a full search, from threats or a stop, count towards move times but not nps
+                result.moveNanos.get(engine).add(elapsed);
+                if (move.getDepth() > 0) {
+                    result.nodes[engine] += move.getStats().getNodes();
+                    result.searchNanos[engine] += elapsed;
+                }
+
+                if (board.makesFive(player, move.getRow(), move.getCol())) {
+                    result.outcome = engine == 0 ? 1 : -1;
+                    break;
+                }
+                board.makeMove(player, move.getRow(), move.getCol());
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Plays a match, one game per worker thread at a time.
+     *
+     * @param games   number of games, rounded up to whole opening pairs.
+     * @param workers number of games played at once.
+     * @param seed    seed of the openings.
+     *
+     * @return results of every game, in the order they were scheduled
+     *
+     * @throws InterruptedException if interrupted while waiting for the games.
+     */
+    List<GameResult> play(final int games, final int workers, final long seed) throws InterruptedException {
+        final ExecutorService pool = Executors.newFixedThreadPool(workers);
+        final List<Future<GameResult>> futures = new ArrayList<>();
+        final Random openings = new Random(seed);
+
+        for (int game = 0; game < games; game += GAMES_PER_OPENING) {
+            final long openingSeed = openings.nextLong();
+            futures.add(pool.submit(() -> playGame(openingSeed, true)));
+            futures.add(pool.submit(() -> playGame(openingSeed, false)));
+        }
+        pool.shutdown();
+
+        final List<GameResult> results = new ArrayList<>();
+        try {
+            for (Future<GameResult> future : futures) results.add(future.get());
+        }
+        catch (ExecutionException e) {
+            pool.shutdownNow();
+            throw new IllegalStateException("Game failed", e.getCause());
+        }
+        return results;
+    }
+
+
+    /**
+     * Elo difference that scores a given fraction of the points.
+     *
+     * @param score fraction of the points scored, between 0 and 1.
+     *
+     * @return Elo difference, infinite for a score of 0 or 1
+     */
+    static double elo(final double score) {
+        return -400 * Math.log10(1 / score - 1);
+    }
+
+
+    /**
+     * Log likelihood ratio of a match result under elo1 against elo0, using the normal approximation
+     * to the trinomial win, draw, loss distribution.
+     *
+     * @param wins   games won by the first engine.
+     * @param draws  games drawn.
+     * @param losses games lost by the first engine.
+     * @param elo0   Elo difference of the null hypothesis.
+     * @param elo1   Elo difference of the alternative hypothesis.
+     *
+     * @return log likelihood ratio, 0 until there is a result to go on
+     */
+    static double sprtLlr(final int wins, final int draws, final int losses, final double elo0, final double elo1) {
+        final int games = wins + draws + losses;
+        if (games == 0 || wins == games || losses == games) return 0;
+
+        final double score = (wins + 0.5 * draws) / games;
+        final double variance = (wins * Math.pow(1 - score, 2) + draws * Math.pow(0.5 - score, 2)
+                + losses * Math.pow(score, 2)) / games;
+        if (variance == 0) return 0;
+
+        final double score0 = 1 / (1 + Math.pow(10, -elo0 / 400));
+        final double score1 = 1 / (1 + Math.pow(10, -elo1 / 400));
+        return 0.5 * games * (score1 - score0) * (2 * score - score0 - score1) / variance;
+    }
+
+
+    /**
+     * @param sorted values in ascending order.
+     * @param percentile percentile wanted, 0 to 100.
+     *
+     * @return the value at the percentile, nearest rank
+     */
+    static long percentile(final long[] sorted, final double percentile) {
+        if (sorted.length == 0) return 0;
+        final int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+
+    /**
+     * Prints the match result and each engine's search statistics.
+     *
+     * @param results results of every game.
+     * @param elo0    Elo difference of the SPRT null hypothesis.
+     * @param elo1    Elo difference of the SPRT alternative hypothesis.
+     */
+    void report(final List<GameResult> results, final double elo0, final double elo1) {
+        int wins = 0, draws = 0, losses = 0;
+        for (GameResult result : results) {
+            if (result.outcome > 0) wins++;
+            else if (result.outcome == 0) draws++;
+            else losses++;
+        }
+        final int games = results.size();
+        final double score = (wins + 0.5 * draws) / games;
+
+        // 95% error bars from the per game variance of the score
+        final double variance = (wins * Math.pow(1 - score, 2) + draws * Math.pow(0.5 - score, 2)
+                + losses * Math.pow(score, 2)) / games;
+        final double margin = 1.96 * Math.sqrt(variance / games);
+
+        System.out.println(first.name + " vs " + second.name);
+        System.out.printf("Games %d: W %d  D %d  L %d  score %.1f%%%n", games, wins, draws, losses, 100 * score);
+        System.out.printf("Elo %+.1f  (95%% %+.1f to %+.1f)%n", elo(score),
+                elo(Math.max(score - margin, 0)), elo(Math.min(score + margin, 1)));
+
+        final double llr = sprtLlr(wins, draws, losses, elo0, elo1);
+        final double lower = Math.log(SPRT_BETA / (1 - SPRT_ALPHA));
+        final double upper = Math.log((1 - SPRT_BETA) / SPRT_ALPHA);
+        final String verdict = llr >= upper ? "H1 accepted" : llr <= lower ? "H0 accepted (H1 rejected)" : "inconclusive";
+        System.out.printf("SPRT elo0 %.1f elo1 %.1f: LLR %.2f (%.2f, %.2f) %s%n", elo0, elo1, llr, lower, upper, verdict);
+
+        final EngineSettings[] engines = { first, second };
+        for (int engine = 0; engine < 2; engine++) {
+            long nodes = 0, searchNanos = 0;
+            final List<Long> times = new ArrayList<>();
+            for (GameResult result : results) {
+                nodes += result.nodes[engine];
+                searchNanos += result.searchNanos[engine];
+                times.addAll(result.moveNanos.get(engine));
+            }
+
+            final long[] sorted = new long[times.size()];
+            for (int i = 0; i < sorted.length; i++) sorted[i] = times.get(i);
+            Arrays.sort(sorted);
+
+            System.out.printf("%s: %.0f nps, move ms p50 %.1f p90 %.1f p99 %.1f max %.1f over %d moves%n",
+                    engines[engine].name, searchNanos == 0 ? 0 : nodes * 1e9 / searchNanos,
+                    percentile(sorted, 50) / 1e6, percentile(sorted, 90) / 1e6, percentile(sorted, 99) / 1e6,
+                    percentile(sorted, 100) / 1e6, sorted.length);
+        }
+    }
+
+
+    /**
+     * Plays a match between two engines without the GUI and prints the result.
+     *
+     *   java gomoku.MatchRunner games "depth=4" "depth=3" [workers] [openingPlies] [elo0] [elo1] [seed]
+     *
+     * Engine settings are described at EngineSettings. Workers defaults to the number of cores.
+     *
+     * @param args command line arguments, as above.
+     *
+     * @throws InterruptedException if interrupted while waiting for the games.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 3) {
+            System.err.println("usage: MatchRunner <games> <engine> <engine> [workers] [openingPlies] [elo0] [elo1] [seed]");
+            System.err.println("engine: depth=4,time=0,mode=seq|split|lazy,threads=1,hash=16,ordering=on|off,size=15");
+            System.exit(1);
+        }
+
+        final int games = Integer.parseInt(args[0]);
+        final int workers = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        final int openingPlies = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+        final double elo0 = args.length > 5 ? Double.parseDouble(args[5]) : DEFAULT_ELO0;
+        final double elo1 = args.length > 6 ? Double.parseDouble(args[6]) : DEFAULT_ELO1;
+        final long seed = args.length > 7 ? Long.parseLong(args[7]) : System.nanoTime();
+
+        final EngineSettings first = new EngineSettings(args[1]);
+        final EngineSettings second = new EngineSettings(args[2]);
+        if (first.boardSize != second.boardSize) throw new IllegalArgumentException("Engines set for different board sizes");
+
+        final MatchRunner runner = new MatchRunner(first, second, first.boardSize, 5, openingPlies);
+
+        final long start = System.currentTimeMillis();
+        final List<GameResult> results = runner.play(games, workers, seed);
+        runner.report(results, elo0, elo1);
+        System.out.printf("%d games on %d workers in %.1f s, seed %d%n", results.size(), workers,
+                (System.currentTimeMillis() - start) / 1000.0, seed);
+    }
+}
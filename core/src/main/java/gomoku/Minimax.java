@@ -0,0 +1,1401 @@
+package gomoku;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jdk.jfr.FlightRecorder;
+
+public class Minimax implements AutoCloseable {
+
+    public static final int DEFAULT_TABLE_SIZE_MB = 64;
+
+    /** Search modes */
+    public static final int SEQUENTIAL = 0;
+    public static final int ROOT_SPLIT = 1;
+    public static final int LAZY_SMP = 2;
+
+    private Board board;
+    private final TranspositionTable table;
+
+    // parallel modes: helpers search on their own copy of the board, sharing the transposition table
+    private final int searchMode;
+    private final ForkJoinPool pool;
+    private final Minimax[] helpers;
+    private final List<ForkJoinTask<?>> helperTasks = new ArrayList<>();
+
+    // lazy SMP helpers perturb their move order with this seed, 0 keeps the plain order
+    private int orderSeed;
+
+    // wall clock deadline for the current search, checked every TIME_CHECK_INTERVAL nodes
+    private static final int TIME_CHECK_INTERVAL = 256;
+
+    // a root split's main thread checks the deadline this often while it waits for the helpers
+    private static final long SPLIT_WAIT_MILLIS = 5;
+    private long deadline = Long.MAX_VALUE;
+
+    // deadline of a timed search's first depth, held back until its first root move is searched
+    private long deferredDeadline;
+    private long nodeLimit = Long.MAX_VALUE;
+    private boolean timeUp;
+    private volatile boolean stopRequested;
+    private long nodes;
+
+    // search counters, kept per thread and added up from the helpers when they finish, and the
+    // time each depth of the current move took. The threat search counts its nodes apart, so the
+    // deadline is still checked every TIME_CHECK_INTERVAL nodes of this search
+    private long threatNodes;
+    private long evaluations;
+    private long cutoffs;
+    private long firstMoveCutoffs;
+    private long tableProbes;
+    private long tableHits;
+    private final long[] iterationNanos = new long[MAX_PLY];
+    private int iterations;
+
+    // move ordering: killer moves per ply and a history score per player and cell
+    private static final int MAX_PLY = 64;
+    private static final int KILLERS_PER_PLY = 2;
+    private boolean moveOrdering = true;
+    private final int[][] killerMoves = new int[MAX_PLY][KILLERS_PER_PLY];
+    private final int[][] history;
+    private final long[][] orderKeys = new long[MAX_PLY][];
+
+    // moves as board cell indexes (row * boardSize + col), one reusable list per ply, and the
+    // best move of the node last searched at each ply, bestMoves[0] being the root's
+    private final int[][] moveLists = new int[MAX_PLY][];
+    private final int[] bestMoves = new int[MAX_PLY];
+
+    // threat space search: a long VCF then VCT at the root, a short VCF at every leaf where
+    // the side to move has a line to make a four on
+    private static final int ROOT_VCF_DEPTH = 16;
+    private static final int ROOT_VCT_DEPTH = 6;
+    private static final int ROOT_THREAT_NODES = 20000;
+    private static final int LEAF_VCF_DEPTH = 4;
+    private static final int LEAF_VCF_NODES = 32;
+
+    // scores are from the side to move's point of view. A five scores WIN less the plies taken to
+    // reach it, so quicker wins score higher, and every win scores beyond any evaluation.
+    public static final int WIN = 1000000000;
+    private static final int INFINITY = WIN + 1;
+    private static final int WIN_THRESHOLD = WIN - 1000;
+
+    // a forced win by fours found at a leaf can take this many more plies
+    private static final int LEAF_VCF_PLIES = 2 * LEAF_VCF_DEPTH;
+
+    // iterative deepening searches in a window this wide either side of the last depth's score
+    private static final int ASPIRATION_WINDOW = 256;
+
+    private final ThreatSearch threats;
+
+    // positions in the opening book are played from it without a search
+    private OpeningBook openingBook;
+
+    // pondering: a second search on a copy of the board works on the opponent's time, sharing the
+    // transposition table, and keeps its replies to the likeliest opponent moves by position hash
+    private static final int PONDER_REPLIES = 3;
+    private Minimax ponderer;
+    private ExecutorService ponderThread;
+    private Future<?> ponderTask;
+    private volatile boolean ponderStopped;
+    private final Map<Long, SearchResult> ponderedReplies = new ConcurrentHashMap<>();
+
+    // set by close, after which pondering is never started again
+    private boolean closed;
+
+    public Minimax(Board board) {
+        this(board, DEFAULT_TABLE_SIZE_MB);
+    }
+
+
+    /**
+     * @param board board the AI plays on.
+     * @param tableSizeMb memory for the transposition table in megabytes.
+     */
+    public Minimax(Board board, int tableSizeMb) {
+        this(board, tableSizeMb, SEQUENTIAL, 1);
+    }
+
+
+    /**
+     * @param board board the AI plays on.
+     * @param tableSizeMb memory for the transposition table in megabytes.
+     * @param searchMode SEQUENTIAL, ROOT_SPLIT or LAZY_SMP.
+     * @param threads number of threads a parallel search mode searches with.
+     */
+    public Minimax(Board board, int tableSizeMb, int searchMode, int threads) {
+        this(board, new TranspositionTable(tableSizeMb), searchMode, threads);
+    }
+
+
+    /**
+     * Builds a search on a given transposition table, which helpers of a parallel search share.
+     *
+     * @param board board to search on.
+     * @param table transposition table to use.
+     * @param searchMode SEQUENTIAL, ROOT_SPLIT or LAZY_SMP.
+     * @param threads number of threads a parallel search mode searches with.
+     */
+    private Minimax(Board board, TranspositionTable table, int searchMode, int threads) {
+        this.board = board;
+        this.table = table;
+        this.searchMode = threads > 1 ? searchMode : SEQUENTIAL;
+
+        if (this.searchMode == ROOT_SPLIT) {
+            this.pool = new ForkJoinPool(threads);
+            this.helpers = new Minimax[threads];
+            for (int i = 0; i < threads; i++) helpers[i] = new Minimax(board, table, SEQUENTIAL, 1);
+        }
+
+        // the calling thread searches too, so lazy SMP needs one helper fewer than threads
+        else if (this.searchMode == LAZY_SMP) {
+            this.pool = new ForkJoinPool(threads - 1);
+            this.helpers = new Minimax[threads - 1];
+            for (int i = 0; i < threads - 1; i++) {
+                helpers[i] = new Minimax(board, table, SEQUENTIAL, 1);
+                helpers[i].orderSeed = i + 1;
+            }
+        }
+        else {
+            this.pool = null;
+            this.helpers = new Minimax[0];
+        }
+
+        final int cells = board.getBoardSize() * board.getBoardSize();
+        this.history = new int[3][cells];
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            orderKeys[ply] = new long[cells];
+            moveLists[ply] = new int[cells];
+        }
+        this.threats = new ThreatSearch(board.getBoardSize(), this::isPastDeadline);
+    }
+
+
+    /**
+     * Turns move ordering on or off. With it off moves are searched in board order,
+     * which is useful to measure how much ordering saves.
+     *
+     * @param moveOrdering true to order moves, false to search them in board order.
+     */
+    public void setMoveOrdering(final boolean moveOrdering) {
+        this.moveOrdering = moveOrdering;
+        for (Minimax helper : helpers) helper.moveOrdering = moveOrdering;
+    }
+
+
+    /**
+     * Limits the nodes a move may search, checked as often as the deadline. A search stopped by
+     * the limit ends like one out of time, so with getBestMoveTimed the move comes from the last
+     * depth completed within the limit. Lazy SMP helpers get the same limit each.
+     *
+     * @param nodeLimit nodes per move, 0 for no limit.
+     */
+    public void setNodeLimit(final long nodeLimit) {
+        this.nodeLimit = nodeLimit > 0 ? nodeLimit : Long.MAX_VALUE;
+        for (Minimax helper : helpers) helper.nodeLimit = this.nodeLimit;
+    }
+
+
+    /**
+     * @param openingBook book to play opening moves from, null to search every move.
+     */
+    public void setOpeningBook(final OpeningBook openingBook) { this.openingBook = openingBook; }
+
+
+    /**
+     * Saves the transposition table so a later session can start from this one's analysis.
+     *
+     * @param file snapshot file to write.
+     *
+     * @return number of positions saved
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public int saveTable(final Path file) throws IOException {
+        return table.save(file, tableParameters());
+    }
+
+
+    /**
+     * Warms the transposition table from a snapshot saved by saveTable. A snapshot saved for another
+     * board or with other evaluation or scoring parameters is ignored, its scores would be wrong here.
+     *
+     * @param file snapshot file to read.
+     *
+     * @return number of positions loaded
+     *
+     * @throws IOException if the file cannot be read or is not a snapshot.
+     */
+    public int loadTable(final Path file) throws IOException {
+        return table.load(file, tableParameters(), board.getBoardSize() * board.getBoardSize());
+    }
+
+
+    /**
+     * @return hash of everything a stored score depends on: the board, the evaluation and how wins score
+     */
+    private long tableParameters() {
+        long hash = Evaluator.getParametersHash();
+        for (long parameter : new long[]{ board.getBoardSize(), board.getWinLength(), WIN, LEAF_VCF_PLIES }) {
+            hash = 31 * hash + parameter;
+        }
+        return hash;
+    }
+
+
+    /**
+     * Asks the search in progress to stop as soon as it can, from any thread. It then returns
+     * the best move found so far: the move of the last completed depth of a timed search, or
+     * the best root move searched so far. A stop asked for while the search gets going, such as
+     * during the threat search, counts too. One asked for between searches is forgotten when
+     * the next one starts.
+     */
+    public void stop() {
+        stopRequested = true;
+        for (Minimax helper : helpers) helper.stopRequested = true;
+    }
+
+
+    /**
+     * Forgets every earlier search, as at the start of a new game: the transposition table, the
+     * pondered replies and the move ordering history. The next search starts as cold as the first.
+     */
+    public void newGame() {
+        stopPondering();
+        table.clear();
+        ponderedReplies.clear();
+        for (Minimax search : helpers) {
+            for (int[] playerHistory : search.history) Arrays.fill(playerHistory, 0);
+        }
+        for (int[] playerHistory : history) Arrays.fill(playerHistory, 0);
+        nodes = 0;
+    }
+
+
+    /**
+     * @return number of nodes visited by the last search, threat search nodes included
+     */
+    public long getNodesSearched() { return nodes + threatNodes; }
+
+
+    /**
+     * Finds best move for AI to play.
+     *
+     * @param depth depth of the tree to search for a move.
+     * @param player player to search for best move for
+     * @param forBlack true - black's turn, false - white's (AI) turn. Must agree with player.
+     *
+     * @return the best move for AI to play with the stats of its search, null if there are no moves
+     */
+    public final SearchResult getBestMove(final int depth, final int player, boolean forBlack) {
+        final SearchEvent event = isRecording() ? new SearchEvent() : null;
+        if (event != null) event.begin();
+        final long start = System.nanoTime();
+
+        stopRequested = false;
+        clearCounters();
+        return withStats(findBestMove(depth, player), start, event);
+    }
+
+
+    /**
+     * Finds the move for getBestMove.
+     *
+     * @param depth depth of the tree to search for a move.
+     * @param player player to search for best move for
+     *
+     * @return the best move for AI to play, null if there are no moves
+     */
+    private SearchResult findBestMove(final int depth, final int player) {
+        deadline = Long.MAX_VALUE;
+
+        // a reply worked out while pondering is played straight away
+        SearchResult ponderedMove = takePonderedReply(player);
+        if (ponderedMove != null) return ponderedMove;
+
+        // an opening book move is played without a search
+        SearchResult bookMove = findBookMove(player);
+        if (bookMove != null) return bookMove;
+
+        // checks if there is a winning move for AI, then a forced win by threats
+        SearchResult winningMove = findWin(player);
+        if (winningMove != null) return winningMove;
+
+        // if no winning move engage minimax search
+        newSearch();
+        startHelpers(depth, player);
+
+        final SearchIterationEvent iteration = isRecording() ? new SearchIterationEvent() : null;
+        if (iteration != null) iteration.begin();
+        final long iterationStart = System.nanoTime();
+        final long iterationNodes = nodes + threatNodes;
+
+        final int score = searchRoot(depth, player, -INFINITY, INFINITY);
+        recordIteration(iteration, iterationStart, iterationNodes, depth, score);
+
+        SearchResult move = rootResult(depth, score);
+        stopHelpers();
+        return move;
+    }
+
+
+    /**
+     * Finds best move for AI to play within a time budget using iterative deepening.
+     * Searches depth 1, 2, 3... until the deadline and returns the move of the last completed depth.
+     * Each depth stores its best moves in the transposition table, which are tried first by the next,
+     * and is searched in an aspiration window around the score of the depth before.
+     *
+     * @param maxDepth deepest depth to search to if time allows.
+     * @param moveTime time budget for the move in milliseconds.
+     * @param player player to search for best move for
+     * @param forBlack true - black's turn, false - white's (AI) turn. Must agree with player.
+     *
+     * @return the best move for AI to play with the stats of its search, null if there are no moves
+     */
+    public final SearchResult getBestMoveTimed(final int maxDepth, final long moveTime, final int player, boolean forBlack) {
+        final SearchEvent event = isRecording() ? new SearchEvent() : null;
+        if (event != null) event.begin();
+        final long start = System.nanoTime();
+
+        stopRequested = false;
+        clearCounters();
+        return withStats(findBestMoveTimed(maxDepth, moveTime, player), start, event);
+    }
+
+
+    /**
+     * Finds the move for getBestMoveTimed.
+     *
+     * @param maxDepth deepest depth to search to if time allows.
+     * @param moveTime time budget for the move in milliseconds.
+     * @param player player to search for best move for
+     *
+     * @return the best move for AI to play, null if there are no moves
+     */
+    private SearchResult findBestMoveTimed(final int maxDepth, final long moveTime, final int player) {
+
+        // the budget runs from here, so waiting for pondering to stop and the threat search count against it
+        final long startTime = System.currentTimeMillis();
+        deadline = startTime + moveTime;
+
+        // a reply worked out while pondering is played straight away
+        SearchResult ponderedMove = takePonderedReply(player);
+        if (ponderedMove != null) return ponderedMove;
+
+        // an opening book move is played without a search
+        SearchResult bookMove = findBookMove(player);
+        if (bookMove != null) return bookMove;
+
+        // checks if there is a winning move for AI, then a forced win by threats, which gives up
+        // at the deadline like the search
+        SearchResult winningMove = findWin(player);
+        if (winningMove != null) return winningMove;
+
+        newSearch();
+        startHelpers(maxDepth, player);
+        SearchResult move = null;
+
+        for (int depth = 1; depth <= maxDepth; depth++) {
+
+            // depth 1 always searches its first root move so there is a move to play, the
+            // deadline applies from then on
+            deadline = depth == 1 ? Long.MAX_VALUE : startTime + moveTime;
+            deferredDeadline = depth == 1 ? startTime + moveTime : 0;
+
+            final SearchIterationEvent iteration = isRecording() ? new SearchIterationEvent() : null;
+            if (iteration != null) iteration.begin();
+            final long iterationStart = System.nanoTime();
+            final long iterationNodes = nodes + threatNodes;
+
+            int score = move == null ? searchRoot(depth, player, -INFINITY, INFINITY) :
+                    searchAspiration(depth, player, move.getScore());
+            recordIteration(iteration, iterationStart, iterationNodes, depth, score);
+
+            SearchResult iterationMove = rootResult(depth, score);
+
+            // an unfinished depth is thrown away, unless it is the first and has the only move
+            if (timeUp) {
+                if (move == null) move = iterationMove;
+                break;
+            }
+            if (iterationMove == null) break;
+
+            move = iterationMove;
+            if (System.currentTimeMillis() >= startTime + moveTime) break;
+        }
+        stopHelpers();
+        deadline = Long.MAX_VALUE;
+        deferredDeadline = 0;
+        return move;
+    }
+
+
+    /**
+     * Attaches the counters of the search to its move and reports them to the flight recorder.
+     *
+     * @param move move found, null if there are no moves.
+     * @param start System.nanoTime when the search for the move began.
+     * @param event flight recorder event begun with the search, null if nothing is recording.
+     *
+     * @return the move with its stats, null if there are no moves
+     */
+    private SearchResult withStats(final SearchResult move, final long start, final SearchEvent event) {
+        final long elapsed = System.nanoTime() - start;
+        final SearchStats stats = new SearchStats(nodes + threatNodes, threatNodes, evaluations, cutoffs, firstMoveCutoffs, tableProbes, tableHits,
+                move == null ? 0 : move.getDepth(), elapsed, Arrays.copyOf(iterationNanos, iterations));
+
+        if (event != null) event.end();
+        if (event != null && event.shouldCommit()) {
+            if (move != null) {
+                event.move = Notation.toText(move.getRow(), move.getCol(), board.getBoardSize());
+                event.score = move.getScore();
+            }
+            event.depth = stats.getDepth();
+            event.nodes = stats.getNodes();
+            event.nodesPerSecond = stats.getNodesPerSecond();
+            event.evaluations = evaluations;
+            event.cutoffs = cutoffs;
+            event.firstMoveCutoffs = firstMoveCutoffs;
+            event.tableProbes = tableProbes;
+            event.tableHits = tableHits;
+            event.commit();
+        }
+
+        if (move == null) return null;
+        return new SearchResult(move.getRow(), move.getCol(), move.getScore(), move.getDepth(), stats);
+    }
+
+
+    /**
+     * Records how long one depth of the search took and reports it to the flight recorder.
+     *
+     * @param event flight recorder event begun with the depth, null if nothing is recording.
+     * @param start System.nanoTime when the depth began.
+     * @param startNodes nodes searched before the depth began.
+     * @param depth depth searched.
+     * @param score score the depth found.
+     *
+     */
+    private void recordIteration(final SearchIterationEvent event, final long start, final long startNodes,
+                                 final int depth, final int score) {
+        if (iterations < iterationNanos.length) iterationNanos[iterations++] = System.nanoTime() - start;
+
+        if (event != null) event.end();
+        if (event != null && event.shouldCommit()) {
+            event.depth = depth;
+            event.score = score;
+            event.completed = !timeUp;
+            event.nodes = nodes + threatNodes - startNodes;
+            event.commit();
+        }
+    }
+
+
+    /**
+     * The first flight recorder event loads jdk.jfr, which takes longer than a quick search, so
+     * events are only created once a recording has started the recorder.
+     *
+     * @return true if the flight recorder is running
+     */
+    private static boolean isRecording() {
+        return FlightRecorder.isInitialized();
+    }
+
+
+    /**
+     * Starts pondering in the background once the AI has moved: searches the opponent's turn to
+     * fill the transposition table and rank their likeliest moves, then works out a reply to each
+     * of the best PONDER_REPLIES. The board can be changed freely while pondering, which works on
+     * a copy, but pondering must be stopped before the next search. Does nothing once closed.
+     *
+     * @param opponent player to move now, 1 or 2
+     * @param maxDepth depth to search each position to.
+     * @param moveTime time budget per position in milliseconds, 0 to always search to maxDepth.
+     *
+     */
+    public void startPondering(final int opponent, final int maxDepth, final long moveTime) {
+        if (closed) return;
+        stopPondering();
+        ponderedReplies.clear();
+
+        if (ponderer == null) {
+            ponderer = new Minimax(board, table, SEQUENTIAL, 1);
+            ponderThread = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "gomoku-ponder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        ponderer.board = new Board(board);
+        ponderer.ponderStopped = false;
+        ponderTask = ponderThread.submit(() -> ponderer.ponder(opponent, maxDepth, moveTime, ponderedReplies));
+    }
+
+
+    /**
+     * Stops pondering, if it is running, and waits for it to finish. Replies already worked
+     * out are kept for the next search.
+     */
+    public void stopPondering() {
+        if (ponderTask == null) return;
+
+        ponderer.ponderStopped = true;
+        try {
+            ponderTask.get();
+        }
+        catch (Exception e) {
+            // a failed ponder only loses its replies
+        }
+        ponderTask = null;
+    }
+
+
+    /**
+     * Stops pondering and lets the threads of pondering and of a parallel search go, so a search
+     * no longer needed holds no threads. It must not search again afterwards.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        stopPondering();
+        if (pool != null) pool.shutdown();
+        if (ponderThread == null) return;
+
+        ponderThread.shutdownNow();
+        ponderThread = null;
+        ponderer = null;
+    }
+
+
+    /**
+     * Pondering task, run by the ponderer on its own copy of the board.
+     *
+     * @param opponent player to move, 1 or 2
+     * @param maxDepth depth to search each position to.
+     * @param moveTime time budget per position in milliseconds, 0 to always search to maxDepth.
+     * @param replies receives the reply to each opponent move worked out, by position hash.
+     *
+     */
+    private void ponder(final int opponent, final int maxDepth, final long moveTime, final Map<Long, SearchResult> replies) {
+        final int player = 3 - opponent;
+        final int boardSize = board.getBoardSize();
+
+        // the opponent's own search ranks their moves through the table move and history it leaves
+        ponderSearch(maxDepth, moveTime, opponent);
+        if (ponderStopped) return;
+
+        final int[] likeliest = moveLists[0];
+        final int moveCount = collectMoves(board, likeliest);
+        final long entry = table.probe(board.getHash(opponent == 2));
+        orderMoves(board, likeliest, moveCount, entry == 0 ? TranspositionTable.NO_MOVE : TranspositionTable.moveOf(entry), opponent, 0);
+
+        final int[] predicted = Arrays.copyOf(likeliest, Math.min(moveCount, PONDER_REPLIES));
+        for (int cell : predicted) {
+
+            // the opponent completing five needs no reply
+            if (board.makesFive(opponent, cell / boardSize, cell % boardSize)) continue;
+
+            board.makeMove(opponent, cell / boardSize, cell % boardSize);
+            SearchResult reply = ponderSearch(maxDepth, moveTime, player);
+            if (!ponderStopped && reply != null) replies.put(board.getHash(player == 2), reply);
+            board.unmakeMove();
+
+            if (ponderStopped) return;
+        }
+    }
+
+
+    private SearchResult ponderSearch(final int maxDepth, final long moveTime, final int player) {
+        return moveTime > 0 ? getBestMoveTimed(maxDepth, moveTime, player, player == 2) :
+                getBestMove(maxDepth, player, player == 2);
+    }
+
+
+    /**
+     * Stops pondering and looks up a reply it worked out for the position on the board.
+     *
+     * @param player player to move.
+     *
+     * @return the reply, null if the position was not pondered
+     */
+    private SearchResult takePonderedReply(final int player) {
+        stopPondering();
+        return ponderedReplies.remove(board.getHash(player == 2));
+    }
+
+
+    /**
+     * Looks the position up in the opening book.
+     *
+     * @param player player to find a move for.
+     *
+     * @return the book move, null if there is no book or the position is not in it
+     */
+    private SearchResult findBookMove(final int player) {
+        if (openingBook == null) return null;
+
+        final int cell = openingBook.probe(board, player == 2);
+        if (cell == TranspositionTable.NO_MOVE) return null;
+
+        final int size = board.getBoardSize();
+        if (!board.isMoveAvailable(cell / size, cell % size)) return null;
+        return new SearchResult(cell / size, cell % size, 0, 0);
+    }
+
+
+    /**
+     * Looks for a five to complete, then for a forced win made only of threats, continuous
+     * fours first and then threes.
+     *
+     * @param player player to find a win for.
+     *
+     * @return first move of the win, null if none was found
+     */
+    private SearchResult findWin(final int player) {
+        int cell = findWinningMove(board, player);
+        int score = WIN - 1;
+
+        if (cell == ThreatSearch.NO_MOVE) {
+            cell = threats.findVcf(board, player, ROOT_VCF_DEPTH, ROOT_THREAT_NODES);
+            score = WIN - 2 * ROOT_VCF_DEPTH;
+            threatNodes += threats.getNodes();
+        }
+        if (cell == ThreatSearch.NO_MOVE) {
+            cell = threats.findVct(board, player, ROOT_VCT_DEPTH, ROOT_THREAT_NODES);
+            score = WIN - 2 * ROOT_VCT_DEPTH;
+            threatNodes += threats.getNodes();
+        }
+
+        if (cell == ThreatSearch.NO_MOVE) return null;
+        return new SearchResult(cell / board.getBoardSize(), cell % board.getBoardSize(), score, 0);
+    }
+
+
+    /**
+     * Searches the root in a narrow window around the score of the previous depth. A score on
+     * or outside the window is only a bound, so the side it fell on is widened and the root
+     * searched again until the score lands inside. Root split searches always use the full window.
+     *
+     * @param depth depth of the tree to search for a move.
+     * @param player player to move at the root.
+     * @param previousScore score of the previous depth.
+     *
+     * @return score of the best move, which is left in bestMoves[0]
+     */
+    private int searchAspiration(final int depth, final int player, final int previousScore) {
+        if (searchMode == ROOT_SPLIT) return searchRoot(depth, player, -INFINITY, INFINITY);
+
+        long delta = ASPIRATION_WINDOW;
+        int alpha = (int) Math.max((long) previousScore - delta, -INFINITY);
+        int beta = (int) Math.min((long) previousScore + delta, INFINITY);
+
+        while (true) {
+            final int score = searchRoot(depth, player, alpha, beta);
+            if (timeUp) return score;
+
+            delta *= 4;
+            if (score <= alpha && alpha > -INFINITY) alpha = (int) Math.max((long) score - delta, -INFINITY);
+            else if (score >= beta && beta < INFINITY) beta = (int) Math.min((long) score + delta, INFINITY);
+            else return score;
+        }
+    }
+
+
+    /**
+     * Runs a single search from the root to a fixed depth.
+     *
+     * @param depth depth of the tree to search for a move.
+     * @param player player to move at the root.
+     * @param alpha lowest score of interest.
+     * @param beta highest score of interest.
+     *
+     * @return score of the best move, which is left in bestMoves[0]
+     */
+    private int searchRoot(final int depth, final int player, final int alpha, final int beta) {
+        timeUp = false;
+        if (searchMode == ROOT_SPLIT && depth > 1) return splitRoot(player, depth);
+        return negamax(board, player, depth, 0, alpha, beta);
+    }
+
+
+    /**
+     * @param depth depth the root was searched to.
+     * @param score score of the best move.
+     *
+     * @return the best move left at the root, null if there are no moves. A search stopped before
+     *         any root move was searched returns the first candidate move.
+     */
+    private SearchResult rootResult(final int depth, final int score) {
+        int bestMove = bestMoves[0];
+        if (bestMove == TranspositionTable.NO_MOVE && timeUp) bestMove = board.nextCandidate(0);
+        if (bestMove == TranspositionTable.NO_MOVE) return null;
+
+        // a stopped search has no score or depth to report
+        return new SearchResult(bestMove / board.getBoardSize(), bestMove % board.getBoardSize(),
+                timeUp ? 0 : score, timeUp ? 0 : depth);
+    }
+
+
+    /**
+     * Resets per search state: ages the transposition table and history and forgets killer moves.
+     * The search's own stop request is left alone, it was cleared when the search began.
+     */
+    private void newSearch() {
+        table.newSearch();
+        clearSearchState();
+        for (Minimax helper : helpers) {
+            helper.clearSearchState();
+            helper.stopRequested = stopRequested;
+        }
+    }
+
+
+    /**
+     * Resets the counters, forgets killer moves and ages history ahead of a search.
+     */
+    private void clearSearchState() {
+        clearCounters();
+
+        for (int[] killers : killerMoves) Arrays.fill(killers, TranspositionTable.NO_MOVE);
+        for (int[] playerHistory : history) {
+            for (int cell = 0; cell < playerHistory.length; cell++) playerHistory[cell] >>= 1;
+        }
+    }
+
+
+    /**
+     * Zeroes the search counters and the iteration times.
+     */
+    private void clearCounters() {
+        nodes = 0;
+        threatNodes = 0;
+        evaluations = 0;
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+        tableProbes = 0;
+        tableHits = 0;
+        iterations = 0;
+    }
+
+
+    /**
+     * Adds a helper's counters to this search's and zeroes them.
+     *
+     * @param helper helper that has finished searching.
+     */
+    private void addCounters(final Minimax helper) {
+        nodes += helper.nodes;
+        threatNodes += helper.threatNodes;
+        evaluations += helper.evaluations;
+        cutoffs += helper.cutoffs;
+        firstMoveCutoffs += helper.firstMoveCutoffs;
+        tableProbes += helper.tableProbes;
+        tableHits += helper.tableHits;
+        helper.clearCounters();
+    }
+
+
+    /**
+     * Checked by the threat search, which counts its own nodes.
+     *
+     * @return true once the deadline of the current search has passed or it was asked to stop
+     */
+    private boolean isPastDeadline() {
+        return stopRequested || ponderStopped || System.currentTimeMillis() >= deadline;
+    }
+
+
+    /**
+     * @return true once the deadline or node limit of the current search has passed or it was asked to stop
+     */
+    private boolean isTimeUp() {
+        if (!timeUp && (++nodes % TIME_CHECK_INTERVAL) == 0 &&
+                (stopRequested || ponderStopped || nodes >= nodeLimit || System.currentTimeMillis() >= deadline)) timeUp = true;
+        return timeUp;
+    }
+
+
+    /**
+     * Lazy SMP: starts every helper on its own iterative deepening search of the position. Helpers
+     * alternate between starting at depth 1 and 2 and order moves with their own perturbation, so
+     * they spread over different parts of the tree. They only share results through the
+     * transposition table, which the main search then reads.
+     *
+     * @param maxDepth deepest depth the main search will reach.
+     * @param player player to move at the root.
+     *
+     */
+    private void startHelpers(final int maxDepth, final int player) {
+        if (searchMode != LAZY_SMP) return;
+
+        for (int i = 0; i < helpers.length; i++) {
+            final Minimax helper = helpers[i];
+            final int depthOffset = i % 2;
+
+            helper.board = new Board(board);
+            helper.deadline = deadline;
+            helper.stopRequested = false;
+            helperTasks.add(pool.submit(() -> helper.deepen(1 + depthOffset, maxDepth + depthOffset, player)));
+        }
+    }
+
+
+    /**
+     * Lazy SMP: stops the helpers once the main search has its move and waits for them to finish.
+     */
+    private void stopHelpers() {
+        for (Minimax helper : helpers) helper.stopRequested = true;
+
+        for (int i = 0; i < helperTasks.size(); i++) {
+            helperTasks.get(i).join();
+            addCounters(helpers[i]);
+        }
+        helperTasks.clear();
+    }
+
+
+    /**
+     * Lazy SMP helper loop: searches the position one depth deeper each time until stopped,
+     * results only go to the transposition table.
+     *
+     * @param startDepth depth of the first search.
+     * @param maxDepth depth of the last search.
+     * @param player player to move at the root.
+     *
+     */
+    private void deepen(final int startDepth, final int maxDepth, final int player) {
+        for (int depth = startDepth; depth <= maxDepth && !stopRequested; depth++) {
+            timeUp = false;
+            negamax(board, player, depth, 0, -INFINITY, INFINITY);
+            if (timeUp) return;
+        }
+    }
+
+
+    /**
+     * Evaluates board to return overall score for the side to move: their own score, counting
+     * the turn, less the opponent's.
+     *
+     * @param board the board to evaluate.
+     * @param player player to move.
+     *
+     * @return final score as integer
+     *
+     */
+    private int evaluate(final Board board, final int player) {
+        final boolean blacksTurn = player == 2;
+        return heuristicEvaluation(board, blacksTurn, blacksTurn) - heuristicEvaluation(board, !blacksTurn, blacksTurn);
+    }
+
+
+    /**
+     * Evaluates board state for all axis' and returns a score.
+     *
+     * @param board the board to evaluate.
+     * @param forBlack depth of the tree to search for a move.
+     * @param blacksTurn depth of the tree to search for a move.
+     *
+     * @return evaluation score as integer.
+     */
+    private int heuristicEvaluation(final Board board, final boolean forBlack, boolean blacksTurn) {
+        return board.getEvaluator().getScore(forBlack, blacksTurn);
+    }
+
+
+    /**
+     * Checks if there is a winning move on board for player.
+     *
+     * @param board the board to evaluate.
+     * @param player player to check winning move for
+     *
+     * @return board cell index of a winning move if found else TranspositionTable.NO_MOVE.
+     */
+    private int findWinningMove(final Board board, final int player) {
+        final int boardSize = board.getBoardSize();
+
+        // Iterate for all candidate moves, checking only the lines through each
+        for (int cell = board.nextCandidate(0); cell >= 0; cell = board.nextCandidate(cell + 1)) {
+            if (board.makesFive(player, cell / boardSize, cell % boardSize)) return cell;
+        }
+        return TranspositionTable.NO_MOVE;
+    }
+
+
+    /**
+     * Fills a move list with the candidate moves of a board.
+     *
+     * @param board the board to list moves for.
+     * @param moves list to fill with board cell indexes.
+     *
+     * @return number of moves listed
+     */
+    private static int collectMoves(final Board board, final int[] moves) {
+        int count = 0;
+        for (int cell = board.nextCandidate(0); cell >= 0; cell = board.nextCandidate(cell + 1)) {
+            moves[count++] = cell;
+        }
+        return count;
+    }
+
+
+    /**
+     * Looks for a short win by fours at a leaf. Only a player with a line to make a four on can
+     * have one, which the running evaluation keeps track of, so most leaves skip the search.
+     *
+     * @param board the board at the leaf.
+     * @param player player to move, 1 or 2
+     *
+     * @return true if the player to move wins by fours
+     */
+    private boolean hasLeafVcf(final Board board, final int player) {
+        if (!board.getEvaluator().canMakeFour(player)) return false;
+
+        final int cell = threats.findVcf(board, player, LEAF_VCF_DEPTH, LEAF_VCF_NODES);
+        threatNodes += threats.getNodes();
+        return cell != ThreatSearch.NO_MOVE;
+    }
+
+
+    /**
+     * Negamax search with alpha-beta pruning and principal variation search. Scores are from the
+     * side to move's point of view, so one branch serves both players. The first move is searched
+     * with the full window and the rest with a null window that only proves them no better,
+     * searching again in full when one turns out better after all.
+     * Positions already searched deeply enough are answered from the transposition table.
+     * The best move found is left in bestMoves at the node's ply, as soon as it is found so a
+     * stopped search still has the best move searched so far.
+     *
+     * @param board the board to evaluate.
+     * @param player player to move, 1 or 2
+     * @param depth depth of tree to search.
+     * @param ply distance from the root.
+     * @param alpha lowest score of interest to the side to move.
+     * @param beta highest score of interest to the side to move.
+     *
+     * @return score of the best move
+     *
+     */
+    private int negamax(final Board board, final int player, final int depth, final int ply, int alpha, final int beta) {
+
+        final int slot = Math.min(ply, MAX_PLY - 1);
+        bestMoves[slot] = TranspositionTable.NO_MOVE;
+
+        if (isTimeUp()) return 0;
+
+        // ends recursive call, unless the side to move has a forced win by fours
+        if (depth == 0 || board.getCandidateCount() == 0) {
+            if (depth == 0 && hasLeafVcf(board, player)) return WIN - ply - LEAF_VCF_PLIES;
+            evaluations++;
+            return evaluate(board, player);
+        }
+
+        final long key = board.getHash(player == 2);
+        final int alphaOriginal = alpha;
+
+        // use a stored result if it was searched at least as deep and its bound settles this window
+        final long entry = table.probe(key);
+        final int tableMove = entry == 0 ? TranspositionTable.NO_MOVE : TranspositionTable.moveOf(entry);
+        tableProbes++;
+        if (entry != 0) tableHits++;
+
+        if (entry != 0 && TranspositionTable.depthOf(entry) >= depth && tableMove != TranspositionTable.NO_MOVE) {
+            final int storedScore = scoreFromTable(TranspositionTable.scoreOf(entry), ply);
+            final int bound = TranspositionTable.boundOf(entry);
+
+            if (bound == TranspositionTable.EXACT ||
+                    (bound == TranspositionTable.LOWER_BOUND && storedScore >= beta) ||
+                    (bound == TranspositionTable.UPPER_BOUND && storedScore <= alpha)) {
+                bestMoves[slot] = tableMove;
+                return storedScore;
+            }
+        }
+
+        final int boardSize = board.getBoardSize();
+        final int opponent = 3 - player;
+        final int[] moves = moveLists[slot];
+        final int moveCount = collectMoves(board, moves);
+
+        if (moveOrdering) orderMoves(board, moves, moveCount, tableMove, player, slot);
+
+        int bestScore = -INFINITY;
+        int bestMove = TranspositionTable.NO_MOVE;
+
+        // Iterate for all possible generated moves
+        for (int i = 0; i < moveCount; i++) {
+            final int cell = moves[i];
+            final int row = cell / boardSize;
+            final int col = cell % boardSize;
+
+            // a five ends the game, otherwise make move in place, recurse to next depth of tree then take it back
+            int score;
+            if (board.makesFive(player, row, col)) score = WIN - ply - 1;
+            else {
+                board.makeMove(player, row, col);
+                if (i == 0) score = -negamax(board, opponent, depth - 1, ply + 1, -beta, -alpha);
+                else {
+                    score = -negamax(board, opponent, depth - 1, ply + 1, -alpha - 1, -alpha);
+                    if (score > alpha && score < beta) score = -negamax(board, opponent, depth - 1, ply + 1, -beta, -alpha);
+                }
+                board.unmakeMove();
+            }
+
+            // abandon the search once out of time
+            if (timeUp) return bestScore;
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = cell;
+                bestMoves[slot] = cell;
+
+                if (score > alpha) alpha = score;
+
+                // Pruning with beta
+                if (alpha >= beta) {
+                    cutoffs++;
+                    if (i == 0) firstMoveCutoffs++;
+                    recordCutoff(cell, player, slot, depth);
+                    break;
+                }
+            }
+
+            // a held back deadline applies once a root move has a score
+            if (ply == 0 && deferredDeadline != 0) {
+                deadline = deferredDeadline;
+                deferredDeadline = 0;
+                if (System.currentTimeMillis() >= deadline) timeUp = true;
+            }
+        }
+
+        // store the result with the kind of bound the window allowed
+        int bound = TranspositionTable.EXACT;
+        if (bestScore <= alphaOriginal) bound = TranspositionTable.UPPER_BOUND;
+        else if (bestScore >= beta) bound = TranspositionTable.LOWER_BOUND;
+
+        table.store(key, depth, scoreToTable(bestScore, ply), bound, bestMove);
+
+        bestMoves[slot] = bestMove;
+        return bestScore;
+    }
+
+
+    /**
+     * Win scores count plies from the root, the table keeps them counted from the position
+     * so they stay right when the position is reached at another ply.
+     *
+     * @param score score found at the position.
+     * @param ply distance of the position from the root.
+     *
+     * @return score to store in the transposition table
+     */
+    private static int scoreToTable(final int score, final int ply) {
+        if (score >= WIN_THRESHOLD) return score + ply;
+        if (score <= -WIN_THRESHOLD) return score - ply;
+        return score;
+    }
+
+
+    /**
+     * @param score score read from the transposition table.
+     * @param ply distance of the position from the root.
+     *
+     * @return score counted from the root
+     */
+    private static int scoreFromTable(final int score, final int ply) {
+        if (score >= WIN_THRESHOLD) return score - ply;
+        if (score <= -WIN_THRESHOLD) return score + ply;
+        return score;
+    }
+
+
+    /**
+     * Searches the root across the helper threads, Young Brothers Wait style. The first (principal)
+     * move is searched alone to get a bound, then helpers take the remaining moves one at a time,
+     * each searching against the best score found so far by any of them.
+     *
+     * Returns the same move as the sequential search: the best score wins and ties go to the move
+     * ordered first. Moves ordered ahead of the current best are searched with a bound one lower
+     * so a tie with it is still found exactly.
+     *
+     * @param player player to move at the root.
+     * @param depth depth of tree to search.
+     *
+     * @return score of the best move, which is left in bestMoves[0]
+     */
+    private int splitRoot(final int player, final int depth) {
+
+        final int boardSize = board.getBoardSize();
+        final int[] moves = moveLists[0];
+        final int moveCount = collectMoves(board, moves);
+
+        bestMoves[0] = TranspositionTable.NO_MOVE;
+        if (moveCount == 0) return evaluate(board, player);
+
+        final long key = board.getHash(player == 2);
+        final long entry = table.probe(key);
+        if (moveOrdering) orderMoves(board, moves, moveCount, entry == 0 ? TranspositionTable.NO_MOVE : TranspositionTable.moveOf(entry), player, 0);
+
+        // eldest brother first, with the full window
+        final int first = searchRootMove(player, moves[0], depth, -INFINITY);
+
+        bestMoves[0] = moves[0];
+        if (timeUp) return first;
+
+        // younger brothers in parallel
+        final SharedRoot shared = new SharedRoot(Arrays.copyOf(moves, moveCount), first);
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+
+        for (Minimax helper : helpers) {
+            helper.board = new Board(board);
+            helper.deadline = deadline;
+            helper.timeUp = false;
+            tasks.add(pool.submit(() -> helper.searchRootMoves(shared, player, depth)));
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            awaitHelper(tasks.get(i));
+            addCounters(helpers[i]);
+            if (helpers[i].timeUp) timeUp = true;
+        }
+
+        bestMoves[0] = shared.moves[shared.bestIndex];
+        if (!timeUp) table.store(key, depth, scoreToTable(shared.bestScore, 0), TranspositionTable.EXACT, bestMoves[0]);
+
+        return shared.bestScore;
+    }
+
+
+    /**
+     * Waits for a root split helper to finish, watching the deadline meanwhile. Once it passes or
+     * a stop is asked for, every helper is stopped, so none runs on into another move and moves
+     * not yet taken are left unsearched.
+     *
+     * @param task helper task to wait for.
+     */
+    private void awaitHelper(final ForkJoinTask<?> task) {
+        while (!task.isDone()) {
+            if (!timeUp && isPastDeadline()) {
+                timeUp = true;
+                for (Minimax helper : helpers) helper.stopRequested = true;
+            }
+
+            try {
+                task.get(SPLIT_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            catch (TimeoutException e) {
+                // check the deadline again
+            }
+            catch (InterruptedException e) {
+                stop();
+                Thread.currentThread().interrupt();
+                task.quietlyJoin();
+            }
+            catch (ExecutionException e) {
+                // rethrown by the join below
+            }
+        }
+        task.join();
+    }
+
+
+    /**
+     * Helper thread loop of a root split: takes root moves until none are left and reports
+     * every score that beats the bound it was searched with.
+     *
+     * @param shared root moves and the best score found so far.
+     * @param player player to move at the root.
+     * @param depth depth of tree to search.
+     *
+     */
+    private void searchRootMoves(final SharedRoot shared, final int player, final int depth) {
+
+        for (int index = shared.nextMove.getAndIncrement(); index < shared.moves.length && !timeUp && !stopRequested;
+             index = shared.nextMove.getAndIncrement()) {
+
+            final int bound = shared.boundFor(index);
+            final int score = searchRootMove(player, shared.moves[index], depth, bound);
+
+            if (!timeUp) shared.offer(index, score, bound);
+        }
+    }
+
+
+    /**
+     * Searches one root move with an open upper end, so any score above alpha is exact.
+     *
+     * @param player player to move at the root.
+     * @param cell board cell index of the move.
+     * @param depth depth of tree to search.
+     * @param alpha score the move has to beat.
+     *
+     * @return score of the move
+     */
+    private int searchRootMove(final int player, final int cell, final int depth, final int alpha) {
+        final int boardSize = board.getBoardSize();
+        final int row = cell / boardSize;
+        final int col = cell % boardSize;
+
+        if (board.makesFive(player, row, col)) return WIN - 1;
+
+        board.makeMove(player, row, col);
+        final int score = -negamax(board, 3 - player, depth - 1, 1, -INFINITY, -alpha);
+        board.unmakeMove();
+        return score;
+    }
+
+
+    /**
+     * Root moves of a split search and the best score found for them so far, shared by the helpers.
+     */
+    private static final class SharedRoot {
+
+        final int[] moves;
+        final AtomicInteger nextMove = new AtomicInteger(1);
+
+        private int bestScore;
+        private int bestIndex;
+
+        SharedRoot(int[] moves, int firstScore) {
+            this.moves = moves;
+            this.bestScore = firstScore;
+            this.bestIndex = 0;
+        }
+
+
+        /**
+         * @param index root move about to be searched.
+         *
+         * @return alpha to search the move with
+         */
+        synchronized int boundFor(final int index) {
+            return index > bestIndex ? bestScore : bestScore - 1;
+        }
+
+
+        /**
+         * Records a root move's score if it is exact and better than the best so far.
+         *
+         * @param index root move searched.
+         * @param score score returned by its search.
+         * @param bound bound it was searched with.
+         */
+        synchronized void offer(final int index, final int score, final int bound) {
+            if (score > bound && (score > bestScore || (score == bestScore && index < bestIndex))) {
+                bestScore = score;
+                bestIndex = index;
+            }
+        }
+    }
+
+
+    /**
+     * Sorts moves so the likeliest cutoffs are searched first: the transposition table move,
+     * then this ply's killer moves, then by history score and finally by static threat score.
+     * Moves that tie keep board order.
+     *
+     * @param board the board the moves are played on.
+     * @param moves board cell indexes of the moves to reorder.
+     * @param moveCount number of moves in the list.
+     * @param tableMove best move stored for the position, TranspositionTable.NO_MOVE if none.
+     * @param player player making the moves.
+     * @param ply distance from the root.
+     *
+     */
+    private void orderMoves(final Board board, final int[] moves, final int moveCount, final int tableMove,
+                            final int player, final int ply) {
+
+        final long[] keys = orderKeys[ply];
+        final int[] killers = killerMoves[ply];
+
+        for (int i = 0; i < moveCount; i++) {
+            final int cell = moves[i];
+
+            if (cell == tableMove) keys[i] = Long.MAX_VALUE;
+            else if (cell == killers[0]) keys[i] = Long.MAX_VALUE - 1;
+            else if (cell == killers[1]) keys[i] = Long.MAX_VALUE - 2;
+            else keys[i] = ((long) history[player][cell] << 16) | (threatScore(board, cell) << 4) | orderNoise(cell);
+        }
+
+        // insertion sort, lists are short and mostly ordered after the first iteration
+        for (int i = 1; i < moveCount; i++) {
+            final long key = keys[i];
+            final int move = moves[i];
+            int j = i - 1;
+
+            while (j >= 0 && keys[j] < key) {
+                keys[j + 1] = keys[j];
+                moves[j + 1] = moves[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            moves[j + 1] = move;
+        }
+    }
+
+
+    /**
+     * Cheap static score of how much is going on around a cell: for each line through it, the
+     * squared number of each player's stones within two cells either side.
+     *
+     * @param board the board the move is played on.
+     * @param cell board cell index of the move.
+     *
+     * @return threat score, higher for busier cells
+     */
+    private int threatScore(final Board board, final int cell) {
+        int score = 0;
+
+        for (int layout = 0; layout < Board.LAYOUTS; layout++) {
+            final int line = board.getCellLine(layout, cell);
+            final int shift = board.getCellPosition(layout, cell) - 2;
+            final long window = shift >= 0 ? 0x1FL << shift : 0x1FL >>> -shift;
+
+            final int white = Long.bitCount(board.getLineMask(layout, 1, line) & window);
+            final int black = Long.bitCount(board.getLineMask(layout, 2, line) & window);
+            score += white * white + black * black;
+        }
+        return score;
+    }
+
+
+    /**
+     * @param cell board cell index of the move.
+     *
+     * @return small per helper tie breaker for move ordering, always 0 for the main search
+     */
+    private int orderNoise(final int cell) {
+        if (orderSeed == 0) return 0;
+        return ((cell + 1) * 0x9E3779B1 * orderSeed) >>> 28;
+    }
+
+
+    /**
+     * Remembers a move that caused a cutoff as a killer for its ply and raises its history score.
+     *
+     * @param cell board cell index of the move.
+     * @param player player who made the move.
+     * @param ply distance from the root.
+     * @param depth remaining depth the move was searched at.
+     *
+     */
+    private void recordCutoff(final int cell, final int player, final int ply, final int depth) {
+        final int[] killers = killerMoves[ply];
+
+        if (killers[0] != cell) {
+            killers[1] = killers[0];
+            killers[0] = cell;
+        }
+        history[player][cell] += depth * depth;
+    }
+}
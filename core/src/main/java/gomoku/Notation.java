@@ -0,0 +1,80 @@
+package gomoku;
+
+public class Notation {
+
+    /**
+     * Writes a move the usual way for Gomoku records: a column letter from 'a' on the left and
+     * a row number from 1 on the bottom, so the centre of a 15x15 board is "h8".
+     *
+     * @param row       row of the move, 0 at the top
+     * @param col       column of the move, 0 on the left
+     * @param boardSize board dimensions
+     *
+     * @return the move as text
+     */
+    public static String toText(final int row, final int col, final int boardSize) {
+        return (char) ('a' + col) + Integer.toString(boardSize - row);
+    }
+
+
+    /**
+     * Reads a move written by toText.
+     *
+     * @param text      the move as text, e.g. "h8"
+     * @param boardSize board dimensions
+     *
+     * @return board cell index of the move, row * boardSize + col
+     *
+     * @throws IllegalArgumentException if the text is not a move on the board
+     */
+    public static int parse(final String text, final int boardSize) {
+        final String move = text.trim().toLowerCase();
+
+        try {
+            final int col = move.charAt(0) - 'a';
+            final int row = boardSize - Integer.parseInt(move.substring(1));
+
+            if (row >= 0 && row < boardSize && col >= 0 && col < boardSize) return row * boardSize + col;
+        }
+        catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Not a move on a " + boardSize + "x" + boardSize + " board: " + text);
+    }
+
+
+    /**
+     * Tells a board written as by parseBoard from a list of moves.
+     *
+     * @param text      a position as text
+     * @param boardSize board dimensions
+     *
+     * @return true if the text is one character for every cell of the board
+     */
+    public static boolean isBoard(final String text, final int boardSize) {
+        return text.length() == boardSize * boardSize && text.chars().allMatch(c -> "xoXO.".indexOf(c) >= 0);
+    }
+
+
+    /**
+     * Reads a board written row by row from the top, one character a cell: '.' for empty,
+     * 'x' for black and 'o' for white. A 15x15 board is 225 characters.
+     *
+     * @param text      the board as text
+     * @param boardSize board dimensions
+     *
+     * @return the stone on every board cell index, 0 for none, 2 for black and 1 for white
+     *
+     * @throws IllegalArgumentException if the text is not a board of that size
+     */
+    public static int[] parseBoard(final String text, final int boardSize) {
+        if (!isBoard(text, boardSize)) throw new IllegalArgumentException("Not a " + boardSize + "x" + boardSize + " board: " + text);
+
+        final int[] stones = new int[boardSize * boardSize];
+        for (int cell = 0; cell < stones.length; cell++) {
+            final char c = Character.toLowerCase(text.charAt(cell));
+            stones[cell] = c == 'x' ? 2 : c == 'o' ? 1 : 0;
+        }
+        return stones;
+    }
+}
@@ -0,0 +1,251 @@
+package gomoku;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+public class OpeningBook {
+
+    /** Book read by default if it exists, from the working directory */
+    public static final String DEFAULT_FILE = "book.bin";
+
+    // file layout: a 32 byte header then entries of 16 bytes sorted by key
+    static final long MAGIC = 0x474D4B424F4F4B31L; // "GMKBOOK1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int ENTRY_BYTES = 16;
+
+    // entry layout: key (long), move as a board cell index (int), weight (int)
+    private static final int MOVE_OFFSET = 8;
+    private static final int WEIGHT_OFFSET = 12;
+
+    static final int SYMMETRIES = 8;
+
+    private static OpeningBook defaultBook;
+    private static boolean defaultLoaded;
+
+    private final ByteBuffer entries;
+    private final int entryCount;
+    private final int boardSize;
+    private final int winLength;
+    private final int maxPlies;
+    private final Random random = new Random();
+
+
+    /**
+     * Opening book constructor maps a book file into memory. Entries are read from the mapping
+     * as they are probed, so a large book costs no heap.
+     *
+     * @param file book file written by OpeningBookBuilder.
+     *
+     * @throws IOException if the file cannot be read or is not a book.
+     */
+    public OpeningBook(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (channel.size() < HEADER_BYTES || mapped.getLong(0) != MAGIC || mapped.getInt(8) != VERSION) {
+                throw new IOException("Not a version " + VERSION + " opening book: " + file);
+            }
+            this.boardSize = mapped.getInt(12);
+            this.winLength = mapped.getInt(16);
+            this.maxPlies = mapped.getInt(20);
+            this.entryCount = (int) mapped.getLong(24);
+
+            if (HEADER_BYTES + (long) entryCount * ENTRY_BYTES > channel.size()) {
+                throw new IOException("Opening book is truncated: " + file);
+            }
+
+            mapped.position(HEADER_BYTES);
+            this.entries = mapped.slice();
+        }
+    }
+
+
+    /**
+     * Opens DEFAULT_FILE once and shares it between games.
+     *
+     * @return the default book, null if there is none or it cannot be read.
+     */
+    public static synchronized OpeningBook loadDefault() {
+        if (!defaultLoaded) {
+            defaultLoaded = true;
+            final Path file = Paths.get(DEFAULT_FILE);
+
+            try {
+                if (Files.exists(file)) defaultBook = new OpeningBook(file);
+            }
+            catch (IOException e) {
+                System.err.println("Opening book not loaded: " + e.getMessage());
+            }
+        }
+        return defaultBook;
+    }
+
+
+    /**
+     * Looks the position up and picks one of its book moves at random, in proportion to weight.
+     *
+     * @param board       board to find a move for.
+     * @param blackToMove true if black is the side to move.
+     *
+     * @return board cell index of the book move, TranspositionTable.NO_MOVE if the position is not in the book
+     */
+    public int probe(final Board board, final boolean blackToMove) {
+        if (board.getBoardSize() != boardSize || board.getWinLength() != winLength ||
+                board.getMoveCount() > maxPlies) return TranspositionTable.NO_MOVE;
+
+        final long[] hashes = symmetricHashes(board, blackToMove);
+        final int symmetry = canonicalSymmetry(hashes);
+        final long key = hashes[symmetry];
+
+        // entries for the key sit together from its lower bound
+        int first = lowerBound(key);
+        int totalWeight = 0;
+        for (int index = first; index < entryCount && keyAt(index) == key; index++) totalWeight += weightAt(index);
+        if (totalWeight <= 0) return TranspositionTable.NO_MOVE;
+
+        int pick = random.nextInt(totalWeight);
+        int index = first;
+        while ((pick -= weightAt(index)) >= 0) index++;
+
+        return untransform(moveAt(index), symmetry, boardSize);
+    }
+
+
+    /**
+     * Hashes the stones on the board under each of the eight symmetries of the square.
+     *
+     * @param board       board to hash.
+     * @param blackToMove true if black is the side to move.
+     *
+     * @return hash of the board under each symmetry
+     */
+    static long[] symmetricHashes(final Board board, final boolean blackToMove) {
+        final int size = board.getBoardSize();
+        final int[][] matrix = board.getBoardMatrix();
+        final long[] hashes = new long[SYMMETRIES];
+
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                final int player = matrix[row][col];
+                if (player == 0) continue;
+
+                for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+                    hashes[symmetry] ^= board.getZobristKey(player, transform(row * size + col, symmetry, size));
+                }
+            }
+        }
+        if (blackToMove) {
+            for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) hashes[symmetry] ^= board.getBlackToMoveKey();
+        }
+        return hashes;
+    }
+
+
+    /**
+     * @param hashes hash of a position under each symmetry.
+     *
+     * @return the symmetry giving the smallest hash, which every symmetric copy of the position shares
+     */
+    static int canonicalSymmetry(final long[] hashes) {
+        int best = 0;
+        for (int symmetry = 1; symmetry < SYMMETRIES; symmetry++) {
+            if (hashes[symmetry] < hashes[best]) best = symmetry;
+        }
+        return best;
+    }
+
+
+    /**
+     * Maps a cell through one of the eight symmetries of the square: bit 0 swaps rows and
+     * columns, bit 1 flips the rows and bit 2 flips the columns, in that order.
+     *
+     * @param cell     board cell index
+     * @param symmetry symmetry 0 to 7, 0 leaves the cell where it is
+     * @param size     board dimensions
+     *
+     * @return board cell index the cell maps to
+     */
+    static int transform(final int cell, final int symmetry, final int size) {
+        int row = cell / size;
+        int col = cell % size;
+
+        if ((symmetry & 1) != 0) {
+            final int swap = row;
+            row = col;
+            col = swap;
+        }
+        if ((symmetry & 2) != 0) row = size - 1 - row;
+        if ((symmetry & 4) != 0) col = size - 1 - col;
+        return row * size + col;
+    }
+
+
+    /**
+     * Undoes transform.
+     *
+     * @param cell     board cell index after the symmetry
+     * @param symmetry symmetry 0 to 7 the cell was mapped through
+     * @param size     board dimensions
+     *
+     * @return board cell index before the symmetry
+     */
+    static int untransform(final int cell, final int symmetry, final int size) {
+        int row = cell / size;
+        int col = cell % size;
+
+        if ((symmetry & 4) != 0) col = size - 1 - col;
+        if ((symmetry & 2) != 0) row = size - 1 - row;
+        if ((symmetry & 1) != 0) {
+            final int swap = row;
+            row = col;
+            col = swap;
+        }
+        return row * size + col;
+    }
+
+
+    /**
+     * @param key position key.
+     *
+     * @return index of the first entry with a key no smaller than the given key
+     */
+    private int lowerBound(final long key) {
+        int low = 0;
+        int high = entryCount;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (keyAt(middle) < key) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+
+    private long keyAt(final int index) { return entries.getLong(index * ENTRY_BYTES); }
+
+
+    private int moveAt(final int index) { return entries.getInt(index * ENTRY_BYTES + MOVE_OFFSET); }
+
+
+    private int weightAt(final int index) { return entries.getInt(index * ENTRY_BYTES + WEIGHT_OFFSET); }
+
+
+    /**
+     * @return int number of entries in the book
+     */
+    public int getEntryCount() { return entryCount; }
+
+
+    /**
+     * @return int deepest ply of the positions in the book
+     */
+    public int getMaxPlies() { return maxPlies; }
+}
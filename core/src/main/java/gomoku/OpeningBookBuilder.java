@@ -0,0 +1,225 @@
+package gomoku;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+class OpeningBookBuilder {
+
+    static final int DEFAULT_MAX_PLIES = 12;
+
+    // self-play games open with the centre then this many random moves near it, so they differ
+    private static final int RANDOM_PLIES = 3;
+
+    // a move scores this much per game its player went on to win, half for a draw
+    private static final int WIN_WEIGHT = 2;
+    private static final int DRAW_WEIGHT = 1;
+
+    private final int boardSize;
+    private final int winLength;
+    private final int maxPlies;
+
+    // weight of every move seen per position, both keyed the symmetry normalised way
+    private final Map<Long, Map<Integer, Integer>> positions = new HashMap<>();
+
+
+    /**
+     * Opening book builder constructor.
+     *
+     * @param boardSize board dimensions
+     * @param winLength winning length to end game
+     * @param maxPlies  positions with more stones than this are left out of the book
+     *
+     */
+    OpeningBookBuilder(final int boardSize, final int winLength, final int maxPlies) {
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+        this.maxPlies = maxPlies;
+    }
+
+
+    /**
+     * Replays a game, black first, and credits the moves of its opening to the player who went
+     * on to win. Moves after the game is won are ignored.
+     *
+     * @param cells       moves of the game as board cell indexes.
+     * @param randomPlies moves 1 to randomPlies were picked at random and are left out of the book.
+     *
+     */
+    void addGame(final int[] cells, final int randomPlies) {
+        final Board board = new Board(boardSize, winLength);
+        final List<long[]> opening = new ArrayList<>();
+        int winner = 0;
+
+        for (int ply = 0; ply < cells.length && winner == 0; ply++) {
+            final int player = ply % 2 == 0 ? 2 : 1;
+            final int row = cells[ply] / boardSize;
+            final int col = cells[ply] % boardSize;
+
+            if (!board.isMoveAvailable(row, col)) throw new IllegalArgumentException("Move played twice: " + Notation.toText(row, col, boardSize));
+
+            if (ply < maxPlies && (ply == 0 || ply > randomPlies)) {
+                final long[] hashes = OpeningBook.symmetricHashes(board, player == 2);
+                final int symmetry = OpeningBook.canonicalSymmetry(hashes);
+                opening.add(new long[]{ hashes[symmetry], OpeningBook.transform(cells[ply], symmetry, boardSize), player });
+            }
+
+            if (board.makesFive(player, row, col)) winner = player;
+            board.makeMove(player, row, col);
+        }
+
+        for (long[] move : opening) {
+            final int weight = winner == 0 ? DRAW_WEIGHT : winner == move[2] ? WIN_WEIGHT : 0;
+            if (weight > 0) positions.computeIfAbsent(move[0], key -> new HashMap<>()).merge((int) move[1], weight, Integer::sum);
+        }
+    }
+
+
+    /**
+     * Adds games from a record file: one game per line, moves in Notation separated by spaces
+     * or commas. Blank lines and lines starting with '#' are skipped.
+     *
+     * @param file record file to read.
+     *
+     * @return number of games added
+     *
+     * @throws IOException if the file cannot be read.
+     */
+    int addRecords(final Path file) throws IOException {
+        int games = 0;
+
+        for (String line : Files.readAllLines(file)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            final String[] moves = line.split("[\\s,]+");
+            final int[] cells = new int[moves.length];
+            for (int i = 0; i < moves.length; i++) cells[i] = Notation.parse(moves[i], boardSize);
+
+            addGame(cells, 0);
+            games++;
+        }
+        return games;
+    }
+
+
+    /**
+     * Plays the engine against itself and adds the games. Each game opens on the centre and a
+     * few random moves near it, and only the engine's own moves go into the book.
+     *
+     * @param games number of games to play.
+     * @param depth depth the engine searches each move to.
+     * @param seed  seed of the random opening moves.
+     *
+     */
+    void addSelfPlay(final int games, final int depth, final long seed) {
+        final Random random = new Random(seed);
+
+        for (int game = 0; game < games; game++) {
+            final Board board = new Board(boardSize, winLength);
+            final Minimax engine = new Minimax(board, 16);
+            final int[] cells = new int[boardSize * boardSize];
+            int ply = 0;
+            boolean won = false;
+
+            cells[ply++] = (boardSize / 2) * boardSize + boardSize / 2;
+            board.makeMove(2, boardSize / 2, boardSize / 2);
+
+            while (ply < cells.length && !won) {
+                final int player = ply % 2 == 0 ? 2 : 1;
+                int cell;
+
+                if (ply <= RANDOM_PLIES) {
+                    final List<int[]> candidates = board.getSpecificMoves();
+                    final int[] move = candidates.get(random.nextInt(candidates.size()));
+                    cell = move[0] * boardSize + move[1];
+                }
+                else {
+                    final SearchResult result = engine.getBestMove(depth, player, player == 2);
+                    cell = result.getRow() * boardSize + result.getCol();
+                }
+
+                won = board.makesFive(player, cell / boardSize, cell % boardSize);
+                board.makeMove(player, cell / boardSize, cell % boardSize);
+                cells[ply++] = cell;
+            }
+
+            addGame(Arrays.copyOf(cells, ply), RANDOM_PLIES);
+        }
+    }
+
+
+    /**
+     * Writes the book: the header, then every move with at least the minimum weight sorted by
+     * position key and, within a position, by weight.
+     *
+     * @param file      file to write.
+     * @param minWeight moves weighing less are left out.
+     *
+     * @return number of entries written
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    int write(final Path file, final int minWeight) throws IOException {
+        final List<long[]> entries = new ArrayList<>();
+
+        for (Map.Entry<Long, Map<Integer, Integer>> position : positions.entrySet()) {
+            for (Map.Entry<Integer, Integer> move : position.getValue().entrySet()) {
+                if (move.getValue() >= minWeight) entries.add(new long[]{ position.getKey(), move.getKey(), move.getValue() });
+            }
+        }
+        entries.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(b[2], a[2]));
+
+        final ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + entries.size() * OpeningBook.ENTRY_BYTES);
+        buffer.putLong(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putInt(boardSize).putInt(winLength)
+                .putInt(maxPlies).putLong(entries.size());
+
+        for (long[] entry : entries) buffer.putLong(entry[0]).putInt((int) entry[1]).putInt((int) entry[2]);
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+        return entries.size();
+    }
+
+
+    /**
+     * Builds an opening book, for a 15x15 board unless a size is given.
+     *
+     *   java gomoku.OpeningBookBuilder selfplay games depth [book.bin] [size]
+     *   java gomoku.OpeningBookBuilder records games.txt [book.bin] [size]
+     *
+     * @param args command line arguments, as above.
+     *
+     * @throws IOException if a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: OpeningBookBuilder selfplay <games> <depth> [out] [size] | records <file> [out] [size]");
+            System.exit(1);
+        }
+
+        final boolean selfPlay = args[0].equals("selfplay");
+        final int outArg = selfPlay ? 3 : 2;
+        final int boardSize = args.length > outArg + 1 ? Integer.parseInt(args[outArg + 1]) : 15;
+        final OpeningBookBuilder builder = new OpeningBookBuilder(boardSize, 5, DEFAULT_MAX_PLIES);
+        final Path out = Paths.get(args.length > outArg ? args[outArg] : OpeningBook.DEFAULT_FILE);
+
+        if (selfPlay) builder.addSelfPlay(Integer.parseInt(args[1]), Integer.parseInt(args[2]), System.nanoTime());
+        else System.out.println(builder.addRecords(Paths.get(args[1])) + " games read");
+
+        System.out.println(builder.write(out, DRAW_WEIGHT) + " entries written to " + out);
+    }
+}
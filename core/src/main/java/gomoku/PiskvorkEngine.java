@@ -0,0 +1,438 @@
+package gomoku;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Text engine speaking the Gomocup (Piskvork) protocol on standard input and output, so the
+ * engine can play other engines in tournament managers.
+ *
+ * Commands: START, RESTART, BEGIN, TURN, BOARD, TAKEBACK, INFO, ABOUT and END. Coordinates are
+ * x (column), y (row) from the top left. Stones in BOARD are 1 for this engine and 2 for the
+ * opponent; whoever has made more moves is taken to have started. The engine always plays exact
+ * five, whatever rule INFO announces.
+ *
+ * Time: each move gets timeout_turn, less a safety margin, and never more than a share of
+ * time_left when a match time is set. Every reply is timed from the command that asked for it,
+ * and the most the last few replies took beyond their search time is also kept back from the
+ * next move. The transposition table is sized to half of max_memory, the rest being left to the
+ * JVM, which must itself be started with a heap that fits.
+ */
+public class PiskvorkEngine {
+
+    private static final String ABOUT = "name=\"Gomoku-Minimax\", version=\"1.0\", country=\"GB\"";
+
+    private static final int WIN_LENGTH = 5;
+    private static final int MAX_BOARD_SIZE = 32;
+    private static final int MAX_DEPTH = 32;
+
+    // time limits in milliseconds until INFO gives others
+    private static final long DEFAULT_TIMEOUT_TURN = 5000;
+    private static final long DEFAULT_TIMEOUT_MATCH = 0;
+
+    // a move may spend at most this share of the match time left
+    private static final int MOVES_TO_GO = 15;
+
+    // kept back from every move's time for the threat search, answering and the JVM
+    private static final long MIN_MARGIN = 30;
+    private static final int MARGIN_PERCENT = 10;
+    private static final long MIN_MOVE_TIME = 5;
+
+    // START plays a scratch position through BOARD with this long a search, so the first move is
+    // not answered by cold code
+    private static final long WARM_UP_TIME = 200;
+
+    // replies whose time beyond the search is kept back from the next move, and what is kept back
+    // before the first reply has been measured
+    private static final int OVERHEAD_REPLIES = 4;
+    private static final long FIRST_REPLY_OVERHEAD = 60;
+
+    private final PrintStream out;
+
+    private Board board;
+    private Minimax minimax;
+    private int tableSizeMb = Minimax.DEFAULT_TABLE_SIZE_MB;
+
+    // stones in the order they were played, as board cell indexes
+    private final List<Integer> moves = new ArrayList<>();
+
+    private long timeoutTurn = DEFAULT_TIMEOUT_TURN;
+    private long timeoutMatch = DEFAULT_TIMEOUT_MATCH;
+    private long timeLeft = Long.MAX_VALUE;
+
+    // when the command being answered was read, and what the last replies took beyond their
+    // search time, replies counting the replies measured
+    private long commandStart;
+    private final long[] replyOverheads = { FIRST_REPLY_OVERHEAD, 0, 0, 0 };
+    private int replies;
+
+
+    /**
+     * @param out where to write answers to the manager.
+     */
+    PiskvorkEngine(final PrintStream out) {
+        this.out = out;
+    }
+
+
+    /**
+     * Answers commands until END or the end of the input.
+     *
+     * @param in commands from the manager, one per line.
+     *
+     * @throws IOException if the input cannot be read.
+     */
+    void run(final BufferedReader in) throws IOException {
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            final String command = line.trim();
+            if (command.isEmpty()) continue;
+            commandStart = System.currentTimeMillis();
+
+            final String[] parts = command.split("\\s+", 2);
+            final String argument = parts.length > 1 ? parts[1].trim() : "";
+
+            try {
+                switch (parts[0].toUpperCase()) {
+                    case "START": start(argument); break;
+                    case "RECTSTART": send("ERROR only square boards are supported"); break;
+                    case "RESTART": restart(); break;
+                    case "BEGIN": play(); break;
+                    case "TURN": turn(argument); break;
+                    case "BOARD": board(in); break;
+                    case "TAKEBACK": takeBack(argument); break;
+                    case "INFO": info(argument); break;
+                    case "ABOUT": send(ABOUT); break;
+                    case "END": return;
+                    default: send("UNKNOWN " + parts[0]);
+                }
+            }
+            catch (IllegalArgumentException | IllegalStateException e) {
+                send("ERROR " + e.getMessage());
+            }
+        }
+    }
+
+
+    /**
+     * START size: sets up an empty board of the given size.
+     *
+     * @param argument board size.
+     *
+     * @throws IOException never, the warm-up position is read from a string.
+     */
+    private void start(final String argument) throws IOException {
+        final int size;
+        try {
+            size = Integer.parseInt(argument);
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bad board size " + argument);
+        }
+        if (size < WIN_LENGTH || size > MAX_BOARD_SIZE) throw new IllegalArgumentException("unsupported board size " + size);
+
+        board = new Board(size, WIN_LENGTH);
+        minimax = new Minimax(board, tableSizeMb);
+        moves.clear();
+        warmUp();
+        send("OK");
+    }
+
+
+    /**
+     * Sets up a few stones in the centre through the BOARD path and finds a reply, without
+     * sending it, so the JIT has compiled everything a first move runs before it is timed. The
+     * board and the transposition table are emptied again afterwards.
+     *
+     * @throws IOException never, the position is read from a string.
+     */
+    private void warmUp() throws IOException {
+        final int centre = board.getBoardSize() / 2;
+        final String stones = centre + "," + centre + ",2\n"
+                + (centre + 1) + "," + (centre + 1) + ",1\n"
+                + centre + "," + (centre + 1) + ",2\n"
+                + "DONE\n";
+
+        setUp(new BufferedReader(new StringReader(stones)));
+        place(findMove(WARM_UP_TIME));
+
+        while (board.getMoveCount() > 0) board.unmakeMove();
+        moves.clear();
+        minimax.newGame();
+    }
+
+
+    /**
+     * RESTART: empties the board for a new game of the same size.
+     */
+    private void restart() {
+        requireBoard();
+        while (board.getMoveCount() > 0) board.unmakeMove();
+        moves.clear();
+        minimax.newGame();
+        send("OK");
+    }
+
+
+    /**
+     * TURN x,y: plays the opponent's move, then answers with this engine's.
+     *
+     * @param argument the opponent's move.
+     */
+    private void turn(final String argument) {
+        requireBoard();
+        final int cell = parseCell(argument);
+        place(cell);
+        play();
+    }
+
+
+    /**
+     * BOARD: reads stones as x,y,field until DONE, sets the board up with them and answers with
+     * this engine's move.
+     *
+     * @param in commands from the manager.
+     *
+     * @throws IOException if the input cannot be read.
+     */
+    private void board(final BufferedReader in) throws IOException {
+        requireBoard();
+        setUp(in);
+        play();
+    }
+
+
+    /**
+     * Reads stones as x,y,field until DONE and sets the board up with them.
+     *
+     * @param in commands from the manager.
+     *
+     * @throws IOException if the input cannot be read.
+     */
+    private void setUp(final BufferedReader in) throws IOException {
+        final List<Integer> own = new ArrayList<>();
+        final List<Integer> opponent = new ArrayList<>();
+        for (String line = in.readLine(); line != null && !line.trim().equalsIgnoreCase("DONE"); line = in.readLine()) {
+            final String[] fields = line.trim().split(",");
+            if (fields.length != 3) throw new IllegalArgumentException("bad board line " + line);
+
+            final int cell = parseCell(fields[0] + "," + fields[1]);
+            if (fields[2].trim().equals("1")) own.add(cell);
+            else opponent.add(cell);
+        }
+
+        while (board.getMoveCount() > 0) board.unmakeMove();
+        moves.clear();
+
+        // the side with more stones started, and it is this engine's move, so alternate from there
+        final List<Integer> first = opponent.size() > own.size() ? opponent : own;
+        final List<Integer> second = first == own ? opponent : own;
+        for (int i = 0; i < first.size(); i++) {
+            place(first.get(i));
+            if (i < second.size()) place(second.get(i));
+        }
+    }
+
+
+    /**
+     * TAKEBACK x,y: takes the last stone back off the board.
+     *
+     * @param argument the stone to take back.
+     */
+    private void takeBack(final String argument) {
+        requireBoard();
+        final int cell = parseCell(argument);
+        if (moves.isEmpty() || moves.get(moves.size() - 1) != cell) throw new IllegalArgumentException("not the last stone " + argument);
+
+        board.unmakeMove();
+        moves.remove(moves.size() - 1);
+        send("OK");
+    }
+
+
+    /**
+     * INFO key value: records the time and memory limits, ignoring everything else.
+     *
+     * @param argument key and value.
+     */
+    private void info(final String argument) {
+        final String[] pair = argument.split("\\s+", 2);
+        if (pair.length < 2) return;
+
+        try {
+            final long value = Long.parseLong(pair[1].trim());
+            switch (pair[0].toLowerCase()) {
+                case "timeout_turn": timeoutTurn = value; break;
+                case "timeout_match": timeoutMatch = value; break;
+                case "time_left": timeLeft = value; break;
+                case "max_memory": setMemory(value); break;
+                default: break;
+            }
+        }
+        catch (NumberFormatException e) {
+            // rule, folder and the like take no number and need nothing
+        }
+    }
+
+
+    /**
+     * Sizes the transposition table to half the memory the engine may use. The new size takes
+     * effect with the next game if one is being played.
+     *
+     * @param maxMemory memory limit in bytes, 0 for none.
+     */
+    private void setMemory(final long maxMemory) {
+        final int sizeMb = maxMemory <= 0 ? Minimax.DEFAULT_TABLE_SIZE_MB
+                                          : (int) Math.max(1, Math.min(Minimax.DEFAULT_TABLE_SIZE_MB, maxMemory / 2 / (1024 * 1024)));
+        if (sizeMb == tableSizeMb) return;
+
+        tableSizeMb = sizeMb;
+        if (board != null && board.getMoveCount() == 0) minimax = new Minimax(board, tableSizeMb);
+    }
+
+
+    /**
+     * Finds this engine's move within the time for the turn, plays it and sends it.
+     */
+    private void play() {
+        requireBoard();
+        final int size = board.getBoardSize();
+        final long searchTime = moveTime();
+        final int cell = findMove(searchTime);
+
+        place(cell);
+        checkReplyTime(searchTime);
+        send((cell % size) + "," + (cell / size));
+    }
+
+
+    /**
+     * @param searchTime time to search for in milliseconds.
+     *
+     * @return board cell index of this engine's move
+     */
+    private int findMove(final long searchTime) {
+        final int size = board.getBoardSize();
+        final int player = moves.size() % 2 == 0 ? 2 : 1;
+
+        int cell;
+        if (board.getMoveCount() == 0) cell = (size / 2) * size + size / 2;
+        else {
+            final SearchResult result = minimax.getBestMoveTimed(MAX_DEPTH, searchTime, player, player == 2);
+            cell = result == null ? firstEmptyCell() : result.getRow() * size + result.getCol();
+        }
+        if (cell < 0) throw new IllegalStateException("the board is full");
+        return cell;
+    }
+
+
+    /**
+     * Measures the reply about to be sent against the time it was given. Whatever it took beyond
+     * the search time, reading the command, the threat search or the JVM, is kept back from the
+     * next OVERHEAD_REPLIES moves, so one slow reply does not shorten the rest of the game. A
+     * reply over the turn limit is reported on standard error.
+     *
+     * @param searchTime time the search was given in milliseconds.
+     */
+    private void checkReplyTime(final long searchTime) {
+        final long elapsed = System.currentTimeMillis() - commandStart;
+        replyOverheads[replies++ % OVERHEAD_REPLIES] = Math.max(0, elapsed - searchTime);
+
+        if (timeLeft != Long.MAX_VALUE) timeLeft -= elapsed;
+        if (timeoutTurn > 0 && elapsed > timeoutTurn) {
+            System.err.println("reply took " + elapsed + " ms, over the " + timeoutTurn + " ms turn limit");
+        }
+    }
+
+
+    /**
+     * @return time to search this move for in milliseconds: the turn limit, or a share of the
+     *         match time left if that is less, after the safety margin and the most the last
+     *         replies took beyond their search time
+     */
+    long moveTime() {
+        long budget = timeoutTurn > 0 ? timeoutTurn : MIN_MOVE_TIME;
+        if (timeoutMatch > 0 && timeLeft != Long.MAX_VALUE) budget = Math.min(budget, timeLeft / MOVES_TO_GO);
+
+        long replyOverhead = 0;
+        for (long overhead : replyOverheads) replyOverhead = Math.max(replyOverhead, overhead);
+
+        final long margin = Math.max(MIN_MARGIN, budget * MARGIN_PERCENT / 100);
+        return Math.max(MIN_MOVE_TIME, budget - margin - replyOverhead);
+    }
+
+
+    /**
+     * Places the next stone, colours alternating from black.
+     *
+     * @param cell board cell index of the stone.
+     */
+    private void place(final int cell) {
+        final int size = board.getBoardSize();
+        if (!board.isMoveAvailable(cell / size, cell % size)) throw new IllegalArgumentException("cell is taken " + (cell % size) + "," + (cell / size));
+
+        board.makeMove(moves.size() % 2 == 0 ? 2 : 1, cell / size, cell % size);
+        moves.add(cell);
+    }
+
+
+    /**
+     * @param text x,y coordinates.
+     *
+     * @return board cell index
+     */
+    private int parseCell(final String text) {
+        final String[] coordinates = text.split(",");
+        final int size = board.getBoardSize();
+
+        try {
+            final int x = Integer.parseInt(coordinates[0].trim());
+            final int y = Integer.parseInt(coordinates[1].trim());
+            if (x >= 0 && x < size && y >= 0 && y < size) return y * size + x;
+        }
+        catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("bad coordinates " + text);
+    }
+
+
+    /**
+     * @return board cell index of the first empty cell, -1 if the board is full
+     */
+    private int firstEmptyCell() {
+        final int size = board.getBoardSize();
+        for (int cell = 0; cell < size * size; cell++) {
+            if (board.isMoveAvailable(cell / size, cell % size)) return cell;
+        }
+        return -1;
+    }
+
+
+    private void requireBoard() {
+        if (board == null) throw new IllegalStateException("no START yet");
+    }
+
+
+    private void send(final String text) {
+        out.println(text);
+        out.flush();
+    }
+
+
+    /**
+     * Speaks the protocol on standard input and output until the manager ends it.
+     *
+     * @param args not used.
+     *
+     * @throws IOException if standard input cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        new PiskvorkEngine(System.out).run(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,47 @@
+package gomoku;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for each move the engine finds, spanning the whole search. Pondering
+ * emits them too, on the gomoku-ponder thread.
+ */
+@Name("gomoku.Search")
+@Label("Search")
+@Category("Gomoku")
+@Description("Search for one move and its counters")
+class SearchEvent extends jdk.jfr.Event {
+
+    @Label("Move")
+    String move;
+
+    @Label("Score")
+    int score;
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Nodes per Second")
+    long nodesPerSecond;
+
+    @Label("Evaluations")
+    long evaluations;
+
+    @Label("Cutoffs")
+    long cutoffs;
+
+    @Label("First Move Cutoffs")
+    long firstMoveCutoffs;
+
+    @Label("Table Probes")
+    long tableProbes;
+
+    @Label("Table Hits")
+    long tableHits;
+}
@@ -0,0 +1,28 @@
+package gomoku;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for each depth of a search.
+ */
+@Name("gomoku.SearchIteration")
+@Label("Search Iteration")
+@Category("Gomoku")
+@Description("One depth of a search")
+class SearchIterationEvent extends jdk.jfr.Event {
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Score")
+    int score;
+
+    @Label("Completed")
+    boolean completed;
+
+    @Label("Nodes")
+    long nodes;
+}
@@ -0,0 +1,79 @@
+package gomoku;
+
+public class SearchResult {
+
+    private final int row;
+    private final int col;
+    private final int score;
+    private final int depth;
+    private final SearchStats stats;
+
+
+    /**
+     * Result of a search for the best move.
+     *
+     * @param row   row of the move to play
+     * @param col   column of the move to play
+     * @param score score of the move for the player making it
+     * @param depth depth the move was searched to, 0 if it was found without a full search
+     *
+     */
+    SearchResult(final int row, final int col, final int score, final int depth) {
+        this(row, col, score, depth, null);
+    }
+
+
+    /**
+     * Result of a search for the best move, with what the search did to find it.
+     *
+     * @param row   row of the move to play
+     * @param col   column of the move to play
+     * @param score score of the move for the player making it
+     * @param depth depth the move was searched to, 0 if it was found without a full search
+     * @param stats counters of the search
+     *
+     */
+    SearchResult(final int row, final int col, final int score, final int depth, final SearchStats stats) {
+        this.row = row;
+        this.col = col;
+        this.score = score;
+        this.depth = depth;
+        this.stats = stats;
+    }
+
+
+    /**
+     * @return int row of the move to play
+     */
+    public int getRow() { return row; }
+
+
+    /**
+     * @return int column of the move to play
+     */
+    public int getCol() { return col; }
+
+
+    /**
+     * @return int score of the move for the player making it
+     */
+    public int getScore() { return score; }
+
+
+    /**
+     * @return int depth the move was searched to, 0 if it was found without a full search
+     */
+    public int getDepth() { return depth; }
+
+
+    /**
+     * @return SearchStats counters of the search that found the move, null for a move made up elsewhere
+     */
+    public SearchStats getStats() { return stats; }
+
+
+    @Override
+    public String toString() {
+        return row + "," + col + " score " + score + " depth " + depth;
+    }
+}
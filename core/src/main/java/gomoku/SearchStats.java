@@ -0,0 +1,134 @@
+package gomoku;
+
+/**
+ * What the engine did to find one move: counters of the search, the depth it reached and how
+ * long each iteration took. Moves played from the book or a pondered reply come with no nodes,
+ * a forced win with only those of the threat search.
+ */
+public class SearchStats {
+
+    private final long nodes;
+    private final long threatNodes;
+    private final long evaluations;
+    private final long cutoffs;
+    private final long firstMoveCutoffs;
+    private final long tableProbes;
+    private final long tableHits;
+    private final int depth;
+    private final long nanos;
+    private final long[] iterationNanos;
+
+
+    /**
+     * @param nodes            positions searched, threat search nodes included.
+     * @param threatNodes      attacking moves tried by the threat search.
+     * @param evaluations      leaf positions evaluated.
+     * @param cutoffs          beta cutoffs.
+     * @param firstMoveCutoffs beta cutoffs made by the first move searched.
+     * @param tableProbes      transposition table lookups.
+     * @param tableHits        transposition table lookups that found the position.
+     * @param depth            depth of the move, 0 if it was found without a full search.
+     * @param nanos            time taken for the move in nanoseconds.
+     * @param iterationNanos   time taken by each depth searched in nanoseconds, from depth 1.
+     *
+     */
+    SearchStats(final long nodes, final long threatNodes, final long evaluations, final long cutoffs, final long firstMoveCutoffs,
+                final long tableProbes, final long tableHits, final int depth, final long nanos, final long[] iterationNanos) {
+        this.nodes = nodes;
+        this.threatNodes = threatNodes;
+        this.evaluations = evaluations;
+        this.cutoffs = cutoffs;
+        this.firstMoveCutoffs = firstMoveCutoffs;
+        this.tableProbes = tableProbes;
+        this.tableHits = tableHits;
+        this.depth = depth;
+        this.nanos = nanos;
+        this.iterationNanos = iterationNanos;
+    }
+
+
+    /**
+     * @return long positions searched, threat search nodes and helper threads included
+     */
+    public long getNodes() { return nodes; }
+
+
+    /**
+     * @return long attacking moves tried by the threat search, at the root and the leaves
+     */
+    public long getThreatNodes() { return threatNodes; }
+
+
+    /**
+     * @return long leaf positions evaluated
+     */
+    public long getEvaluations() { return evaluations; }
+
+
+    /**
+     * @return long beta cutoffs
+     */
+    public long getCutoffs() { return cutoffs; }
+
+
+    /**
+     * @return long beta cutoffs made by the first move searched
+     */
+    public long getFirstMoveCutoffs() { return firstMoveCutoffs; }
+
+
+    /**
+     * @return double share of the cutoffs made by the first move, a measure of move ordering
+     */
+    public double getFirstMoveCutoffRate() { return cutoffs == 0 ? 0 : (double) firstMoveCutoffs / cutoffs; }
+
+
+    /**
+     * @return long transposition table lookups
+     */
+    public long getTableProbes() { return tableProbes; }
+
+
+    /**
+     * @return long transposition table lookups that found the position
+     */
+    public long getTableHits() { return tableHits; }
+
+
+    /**
+     * @return double share of the lookups that found the position
+     */
+    public double getTableHitRate() { return tableProbes == 0 ? 0 : (double) tableHits / tableProbes; }
+
+
+    /**
+     * @return int depth of the move, 0 if it was found without a full search
+     */
+    public int getDepth() { return depth; }
+
+
+    /**
+     * @return long time taken for the move in nanoseconds
+     */
+    public long getNanos() { return nanos; }
+
+
+    /**
+     * @return long positions searched per second
+     */
+    public long getNodesPerSecond() { return nanos == 0 ? 0 : nodes * 1000000000L / nanos; }
+
+
+    /**
+     * @return long[] time taken by each depth searched in nanoseconds, from depth 1
+     */
+    public long[] getIterationNanos() { return iterationNanos.clone(); }
+
+
+    @Override
+    public String toString() {
+        return String.format("depth %d nodes %d (threats %d) nps %d evals %d cutoffs %d (first move %.0f%%) tt hits %d/%d ms %.1f",
+                depth, nodes, threatNodes, getNodesPerSecond(), evaluations, cutoffs, 100 * getFirstMoveCutoffRate(),
+                tableHits, tableProbes, nanos / 1e6);
+    }
+}
@@ -0,0 +1,421 @@
+package gomoku;
+
+import java.util.function.BooleanSupplier;
+
+class ThreatSearch {
+
+    static final int NO_MOVE = TranspositionTable.NO_MOVE;
+
+    // attacking moves deeper than this are never followed
+    private static final int MAX_DEPTH = 24;
+
+    // the search asks whether to give up every STOP_CHECK_INTERVAL nodes
+    private static final int STOP_CHECK_INTERVAL = 256;
+    private final BooleanSupplier stopped;
+
+    private Board board;
+    private int winLength;
+
+    private int nodes;
+    private int nodeLimit;
+    private int rootMove;
+
+    // attacking moves and defending replies per ply, so lists survive the recursion
+    private final int[][] attacks;
+    private final int[][] replies;
+    private final int[] completions;
+
+    // cells already collected into the list being built
+    private final long[] marked;
+
+
+    /**
+     * Threat space search constructor.
+     *
+     * A threat is a move the opponent has to answer. A four threatens five next move and has one
+     * answer, the cell that completes it. A three threatens an open four and is answered on the
+     * cells either side of it. The search plays only threats for the attacker and only those
+     * answers for the defender, so it reaches far deeper than a full width search of the same size.
+     *
+     * @param boardSize board dimensions of the boards searched.
+     * @param stopped true once the search should give up, as when the time for a move is up.
+     *
+     */
+    ThreatSearch(final int boardSize, final BooleanSupplier stopped) {
+        final int cells = boardSize * boardSize;
+
+        this.stopped = stopped;
+        this.attacks = new int[MAX_DEPTH + 1][cells];
+        this.replies = new int[MAX_DEPTH + 1][cells];
+        this.completions = new int[cells];
+        this.marked = new long[(cells + 63) / 64];
+    }
+
+
+    /**
+     * Looks for a victory by continuous fours (VCF): every attacking move makes a four, so the
+     * defender's reply is forced each time.
+     *
+     * @param board board to search, left as it was found.
+     * @param attacker player to find a win for, 1 or 2
+     * @param maxDepth most attacking moves to play.
+     * @param nodeLimit most attacking moves to try before giving up.
+     *
+     * @return board cell index of the first move of the win, NO_MOVE if none was found
+     */
+    int findVcf(final Board board, final int attacker, final int maxDepth, final int nodeLimit) {
+        return find(board, attacker, maxDepth, nodeLimit, false);
+    }
+
+
+    /**
+     * @return attacking moves the last search tried
+     */
+    int getNodes() { return nodes; }
+
+
+    /**
+     * Looks for a victory by continuous threats (VCT): attacking moves make fours or threes,
+     * and every answer to a three is tried.
+     *
+     * Threes are only played while the defender has no four of their own to answer with, so a
+     * win found holds against every defence the search knows about.
+     *
+     * @param board board to search, left as it was found.
+     * @param attacker player to find a win for, 1 or 2
+     * @param maxDepth most attacking moves to play.
+     * @param nodeLimit most attacking moves to try before giving up.
+     *
+     * @return board cell index of the first move of the win, NO_MOVE if none was found
+     */
+    int findVct(final Board board, final int attacker, final int maxDepth, final int nodeLimit) {
+        return find(board, attacker, maxDepth, nodeLimit, true);
+    }
+
+
+    private int find(final Board board, final int attacker, final int maxDepth, final int nodeLimit,
+                     final boolean threes) {
+        this.board = board;
+        this.winLength = board.getWinLength();
+        this.nodes = 0;
+        this.nodeLimit = nodeLimit;
+        this.rootMove = NO_MOVE;
+
+        // a five to complete wins straight away
+        if (collectCompletions(attacker, attacks[0]) > 0) return attacks[0][0];
+
+        // a five the defender can complete has to be blocked, nothing else is forcing
+        if (collectCompletions(3 - attacker, attacks[0]) > 0) return NO_MOVE;
+
+        return search(attacker, 0, Math.min(maxDepth, MAX_DEPTH), NO_MOVE, threes) ? rootMove : NO_MOVE;
+    }
+
+
+    /**
+     * Tries every attacking move at one ply: fours first, then threes when allowed.
+     *
+     * @param attacker player attacking, 1 or 2
+     * @param ply attacking moves played so far.
+     * @param depthLeft attacking moves still allowed.
+     * @param forcedCell cell the attacker must play to stop a five, NO_MOVE if free to choose.
+     * @param threes true to play threes as well as fours.
+     *
+     * @return true if the attacker wins by force
+     */
+    private boolean search(final int attacker, final int ply, final int depthLeft, final int forcedCell,
+                           final boolean threes) {
+
+        if (depthLeft == 0 || ++nodes > nodeLimit) return false;
+
+        // giving up uses up the node limit, so the search unwinds without finding a win
+        if (nodes % STOP_CHECK_INTERVAL == 0 && stopped.getAsBoolean()) {
+            nodes = nodeLimit;
+            return false;
+        }
+
+        final int[] moves = attacks[ply];
+        int count = forcedCell != NO_MOVE ? single(moves, forcedCell) : collectFourMoves(attacker, moves);
+
+        for (int i = 0; i < count; i++) {
+            if (playFour(attacker, moves[i], ply, depthLeft, threes)) return won(ply, moves[i]);
+        }
+
+        if (!threes) return false;
+
+        // a three gives the defender time for a four of their own, which the search does not follow
+        if (collectFourMoves(3 - attacker, replies[ply]) > 0) return false;
+
+        count = forcedCell != NO_MOVE ? single(moves, forcedCell) : collectThreeMoves(attacker, moves);
+
+        for (int i = 0; i < count; i++) {
+            if (playThree(attacker, moves[i], ply, depthLeft)) return won(ply, moves[i]);
+        }
+        return false;
+    }
+
+
+    /**
+     * Plays a four and its one answer, then carries on the attack.
+     *
+     * @param attacker player attacking, 1 or 2
+     * @param cell board cell index of the attacking move.
+     * @param ply attacking moves played so far.
+     * @param depthLeft attacking moves still allowed.
+     * @param threes true to play threes as well as fours.
+     *
+     * @return true if the move wins by force
+     */
+    private boolean playFour(final int attacker, final int cell, final int ply, final int depthLeft,
+                             final boolean threes) {
+        final int defender = 3 - attacker;
+        final int boardSize = board.getBoardSize();
+
+        board.makeMove(attacker, cell / boardSize, cell % boardSize);
+
+        final int fives = collectCompletionsThrough(attacker, cell, completions);
+        boolean win;
+
+        // two ways to five cannot both be blocked
+        if (fives >= 2) win = true;
+        else if (fives == 0) win = false;
+        else {
+            final int block = completions[0];
+            board.makeMove(defender, block / boardSize, block % boardSize);
+
+            // blocking can make a four for the defender, which the attacker must block in turn
+            final int counterFives = collectCompletionsThrough(defender, block, completions);
+            win = counterFives < 2 &&
+                    search(attacker, ply + 1, depthLeft - 1, counterFives == 1 ? completions[0] : NO_MOVE, threes);
+
+            board.unmakeMove();
+        }
+        board.unmakeMove();
+        return win;
+    }
+
+
+    /**
+     * Plays a three and tries every answer to it, the move wins only if the attack carries on
+     * to a win after all of them.
+     *
+     * @param attacker player attacking, 1 or 2
+     * @param cell board cell index of the attacking move.
+     * @param ply attacking moves played so far.
+     * @param depthLeft attacking moves still allowed.
+     *
+     * @return true if the move wins by force
+     */
+    private boolean playThree(final int attacker, final int cell, final int ply, final int depthLeft) {
+        final int defender = 3 - attacker;
+        final int boardSize = board.getBoardSize();
+        final int[] defences = replies[ply];
+
+        board.makeMove(attacker, cell / boardSize, cell % boardSize);
+
+        final int count = collectThreeDefences(attacker, cell, defences);
+        boolean win = count > 0;
+
+        for (int i = 0; i < count && win; i++) {
+            board.makeMove(defender, defences[i] / boardSize, defences[i] % boardSize);
+            win = search(attacker, ply + 1, depthLeft - 1, NO_MOVE, true);
+            board.unmakeMove();
+        }
+        board.unmakeMove();
+        return win;
+    }
+
+
+    private boolean won(final int ply, final int cell) {
+        if (ply == 0) rootMove = cell;
+        return true;
+    }
+
+
+    private static int single(final int[] moves, final int cell) {
+        moves[0] = cell;
+        return 1;
+    }
+
+
+    /**
+     * @return number of cells where the player would make a four, written to out
+     */
+    private int collectFourMoves(final int player, final int[] out) {
+        return collectWindowGaps(player, winLength, winLength - 2, false, out);
+    }
+
+
+    /**
+     * @return number of cells where the player would make a three, written to out
+     */
+    private int collectThreeMoves(final int player, final int[] out) {
+        return collectWindowGaps(player, winLength + 1, winLength - 3, true, out);
+    }
+
+
+    /**
+     * Collects the empty cells of every window along every line that holds a number of the
+     * player's stones and none of the opponent's.
+     *
+     * @param player player whose stones to count, 1 or 2
+     * @param width cells in a window.
+     * @param stones stones the window must hold.
+     * @param openEnds true if both end cells of the window must be empty and are left out.
+     * @param out receives the cells found, each once.
+     *
+     * @return number of cells found
+     */
+    private int collectWindowGaps(final int player, final int width, final int stones, final boolean openEnds,
+                                  final int[] out) {
+        final long windowMask = (1L << width) - 1;
+        int count = 0;
+
+        for (int layout = 0; layout < Board.LAYOUTS; layout++) {
+            for (int line = board.getFirstOccupiedLine(layout); line <= board.getLastOccupiedLine(layout); line++) {
+                final long own = board.getLineMask(layout, player, line);
+                if (Long.bitCount(own) < stones) continue;
+
+                final long opponent = board.getLineMask(layout, 3 - player, line);
+                final int length = board.getLineLength(layout, line);
+
+                for (int start = 0; start + width <= length; start++) {
+                    final long window = windowMask << start;
+                    if ((opponent & window) != 0 || Long.bitCount(own & window) != stones) continue;
+
+                    long gaps = ~own & window;
+                    if (openEnds) {
+                        final long ends = (1L << start) | (1L << (start + width - 1));
+                        if ((own & ends) != 0) continue;
+                        gaps &= ~ends;
+                    }
+                    count = addCells(layout, line, gaps, out, count);
+                }
+            }
+        }
+        clearMarks(out, count);
+        return count;
+    }
+
+
+    /**
+     * @return number of cells anywhere on the board where the player would complete five, written to out
+     */
+    private int collectCompletions(final int player, final int[] out) {
+        int count = 0;
+
+        for (int layout = 0; layout < Board.LAYOUTS; layout++) {
+            for (int line = board.getFirstOccupiedLine(layout); line <= board.getLastOccupiedLine(layout); line++) {
+                if (Long.bitCount(board.getLineMask(layout, player, line)) < winLength - 1) continue;
+                count = addCompletions(player, layout, line, 0, board.getLineLength(layout, line) - winLength, out, count);
+            }
+        }
+        clearMarks(out, count);
+        return count;
+    }
+
+
+    /**
+     * @return number of cells on the lines through a cell where the player would complete five, written to out
+     */
+    private int collectCompletionsThrough(final int player, final int cell, final int[] out) {
+        int count = 0;
+
+        for (int layout = 0; layout < Board.LAYOUTS; layout++) {
+            final int line = board.getCellLine(layout, cell);
+            final int position = board.getCellPosition(layout, cell);
+            final int lastStart = Math.min(position, board.getLineLength(layout, line) - winLength);
+
+            count = addCompletions(player, layout, line, Math.max(0, position - winLength + 1), lastStart, out, count);
+        }
+        clearMarks(out, count);
+        return count;
+    }
+
+
+    /**
+     * Adds the missing cell of every window along a line holding all but one of the player's
+     * stones and none of the opponent's, unless filling it would make an overline.
+     *
+     * @param player player whose stones to count, 1 or 2
+     * @param layout Board.ROW, Board.COLUMN, Board.DIAGONAL or Board.ANTI_DIAGONAL
+     * @param line line index within the layout
+     * @param firstStart position the first window starts at.
+     * @param lastStart position the last window starts at.
+     * @param out receives the cells found.
+     * @param count cells already in out.
+     *
+     * @return number of cells in out
+     */
+    private int addCompletions(final int player, final int layout, final int line, final int firstStart,
+                               final int lastStart, final int[] out, int count) {
+        final long own = board.getLineMask(layout, player, line);
+        final long opponent = board.getLineMask(layout, 3 - player, line);
+        final long windowMask = (1L << winLength) - 1;
+
+        for (int start = firstStart; start <= lastStart; start++) {
+            final long window = windowMask << start;
+            if ((opponent & window) != 0 || Long.bitCount(own & window) != winLength - 1) continue;
+
+            // a stone touching either end would make the run too long to win
+            if ((own >>> (start + winLength) & 1L) != 0 || (start > 0 && (own >>> (start - 1) & 1L) != 0)) continue;
+
+            count = addCells(layout, line, ~own & window, out, count);
+        }
+        return count;
+    }
+
+
+    private int addCells(final int layout, final int line, long positions, final int[] out, int count) {
+        while (positions != 0) {
+            final int cell = board.getLineCell(layout, line, Long.numberOfTrailingZeros(positions));
+            if ((marked[cell >>> 6] & (1L << cell)) == 0) {
+                marked[cell >>> 6] |= 1L << cell;
+                out[count++] = cell;
+            }
+            positions &= positions - 1;
+        }
+        return count;
+    }
+
+
+    private void clearMarks(final int[] cells, final int count) {
+        for (int i = 0; i < count; i++) marked[cells[i] >>> 6] &= ~(1L << cells[i]);
+    }
+
+
+    /**
+     * Collects the answers to the threes a stone just made: the empty cells of every six cell
+     * window through it with both ends empty, three of the player's stones inside and none
+     * of the opponent's.
+     *
+     * @param player player who made the three, 1 or 2
+     * @param cell board cell index of the stone.
+     * @param out receives the answers, each once.
+     *
+     * @return number of answers, 0 if the stone made no three
+     */
+    private int collectThreeDefences(final int player, final int cell, final int[] out) {
+        final int width = winLength + 1;
+        final long windowMask = (1L << width) - 1;
+        int count = 0;
+
+        for (int layout = 0; layout < Board.LAYOUTS; layout++) {
+            final int line = board.getCellLine(layout, cell);
+            final int position = board.getCellPosition(layout, cell);
+            final long own = board.getLineMask(layout, player, line);
+            final long opponent = board.getLineMask(layout, 3 - player, line);
+            final int lastStart = Math.min(position - 1, board.getLineLength(layout, line) - width);
+
+            for (int start = Math.max(0, position - width + 2); start <= lastStart; start++) {
+                final long window = windowMask << start;
+                final long ends = (1L << start) | (1L << (start + width - 1));
+
+                if ((opponent & window) != 0 || (own & ends) != 0 || Long.bitCount(own & window) != winLength - 2) continue;
+
+                count = addCells(layout, line, ~own & window, out, count);
+            }
+        }
+        clearMarks(out, count);
+        return count;
+    }
+}
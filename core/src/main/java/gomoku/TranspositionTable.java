@@ -0,0 +1,274 @@
+package gomoku;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+class TranspositionTable {
+
+    /** Bound types of a stored score */
+    static final int EXACT = 0;
+    static final int LOWER_BOUND = 1;
+    static final int UPPER_BOUND = 2;
+
+    static final int NO_MOVE = -1;
+
+    // each entry is two longs: key ^ data, data
+    private static final int ENTRY_LONGS = 2;
+    private static final int ENTRY_BYTES = ENTRY_LONGS * 8;
+
+    // snapshot file layout: a 40 byte header, then the stored entries as they are held in memory
+    static final long SNAPSHOT_MAGIC = 0x474D4B5454424C31L; // "GMKTTBL1"
+    static final int SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_HEADER_BYTES = 40;
+    private static final int SNAPSHOT_BUFFER_ENTRIES = 4096;
+
+    // data bits 0-5 depth, 6-7 bound, 8-15 generation, 16-31 move + 1 (0 when there is no move), 32-63 score
+    private final long[] entries;
+
+    private final int indexMask;
+    private volatile int generation;
+
+
+    /**
+     * Transposition table constructor, sized to the largest power of two number of entries that fits.
+     *
+     * Entries are shared by every search thread without locks. The first word of an entry is its key
+     * XORed with the second, so an entry torn by two threads writing at once fails the key check
+     * on probe and reads as a miss.
+     *
+     * @param sizeMb memory to use for the table in megabytes.
+     *
+     */
+    TranspositionTable(final int sizeMb) {
+        long maxEntries = Math.max(1, (long) sizeMb * 1024 * 1024 / ENTRY_BYTES);
+        int entryCount = Integer.highestOneBit((int) Math.min(maxEntries, 1 << 28));
+
+        this.entries = new long[entryCount * ENTRY_LONGS];
+        this.indexMask = entryCount - 1;
+    }
+
+
+    /**
+     * Starts a new search so entries left by earlier searches can be replaced first.
+     */
+    void newSearch() { generation = (generation + 1) & 0xFF; }
+
+
+    /**
+     * Looks up a position.
+     *
+     * @param key Zobrist hash of the position.
+     *
+     * @return packed score, depth, bound and move of the entry, read with scoreOf, depthOf, boundOf
+     *         and moveOf. 0 if the position is not stored.
+     */
+    long probe(final long key) {
+        final int index = ((int) key & indexMask) * ENTRY_LONGS;
+
+        final long check = entries[index];
+        final long data = entries[index + 1];
+
+        if (data == 0 || (check ^ data) != key) return 0;
+        return data;
+    }
+
+
+    /**
+     * Stores a search result. The slot is only overwritten when it holds the same position,
+     * an entry from an earlier search or an entry searched no deeper than this one.
+     *
+     * @param key Zobrist hash of the position.
+     * @param depth depth the position was searched to.
+     * @param score score found by the search.
+     * @param bound EXACT, LOWER_BOUND or UPPER_BOUND.
+     * @param move best move found as a board cell index, NO_MOVE if none.
+     *
+     */
+    void store(final long key, final int depth, final int score, final int bound, final int move) {
+        final int index = ((int) key & indexMask) * ENTRY_LONGS;
+        final int currentGeneration = generation;
+
+        final long stored = entries[index + 1];
+        final long storedKey = entries[index] ^ stored;
+
+        if (stored != 0 && storedKey != key && generationOf(stored) == currentGeneration && depthOf(stored) > depth) return;
+
+        final long data = ((long) score << 32) | ((move + 1L) << 16) | (currentGeneration << 8) | (bound << 6) | Math.min(depth, 63);
+
+        entries[index + 1] = data;
+        entries[index] = key ^ data;
+    }
+
+
+    /**
+     * Empties the table.
+     */
+    void clear() {
+        Arrays.fill(entries, 0L);
+    }
+
+
+    /**
+     * Writes every stored entry to a snapshot file that load can warm a table from later.
+     *
+     * Header: magic, version, parameters, entry count and a checksum of the entries. Empty slots
+     * are left out, so the file holds 16 bytes per stored position. Entries a search is writing
+     * as they are saved fail the key check when they are loaded, like a torn entry in memory.
+     *
+     * @param file file to write.
+     * @param parameters hash of whatever the stored scores depend on, checked by load.
+     *
+     * @return number of entries written
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    int save(final Path file, final long parameters) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            final ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_BUFFER_ENTRIES * ENTRY_BYTES);
+            long count = 0;
+            long checksum = 0;
+
+            channel.position(SNAPSHOT_HEADER_BYTES);
+            for (int index = 0; index < entries.length; index += ENTRY_LONGS) {
+                final long check = entries[index];
+                final long data = entries[index + 1];
+                if (data == 0) continue;
+
+                buffer.putLong(check).putLong(data);
+                checksum = checksum(checksum, check, data);
+                count++;
+
+                if (!buffer.hasRemaining()) writeFully(channel, buffer);
+            }
+            writeFully(channel, buffer);
+
+            buffer.putLong(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putInt(0).putLong(parameters)
+                    .putLong(count).putLong(checksum);
+            channel.position(0);
+            writeFully(channel, buffer);
+            return (int) count;
+        }
+    }
+
+
+    /**
+     * Warms the table from a snapshot written by save, mapping the file rather than reading it into
+     * the heap. Entries are placed by their keys, so the snapshot may come from a table of another
+     * size. A snapshot for another board or evaluation is ignored, entries with a move off the board
+     * are skipped and a torn entry loads under a key no position has. Where two loaded positions
+     * share a slot the deeper is kept.
+     *
+     * @param file snapshot file to read.
+     * @param parameters hash of whatever the stored scores depend on, as given to save.
+     * @param cells number of cells on the board, which every stored move must be less than.
+     *
+     * @return number of entries loaded, 0 if the snapshot was saved with other parameters
+     *
+     * @throws IOException if the file cannot be read or is not a snapshot.
+     */
+    int load(final Path file, final long parameters, final int cells) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (size < SNAPSHOT_HEADER_BYTES || mapped.getLong(0) != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a transposition table snapshot: " + file);
+            }
+            if (mapped.getInt(8) != SNAPSHOT_VERSION || mapped.getLong(16) != parameters) return 0;
+
+            final long count = mapped.getLong(24);
+            if (SNAPSHOT_HEADER_BYTES + count * ENTRY_BYTES != size) {
+                throw new IOException("Transposition table snapshot is truncated: " + file);
+            }
+
+            mapped.position(SNAPSHOT_HEADER_BYTES);
+            final LongBuffer stored = mapped.slice().asLongBuffer();
+            long checksum = 0;
+            for (int index = 0; index < count * ENTRY_LONGS; index += ENTRY_LONGS) {
+                checksum = checksum(checksum, stored.get(index), stored.get(index + 1));
+            }
+            if (checksum != mapped.getLong(32)) throw new IOException("Transposition table snapshot is corrupt: " + file);
+
+            int loaded = 0;
+            for (int index = 0; index < count * ENTRY_LONGS; index += ENTRY_LONGS) {
+                final long data = stored.get(index + 1);
+                final long key = stored.get(index) ^ data;
+
+                if (boundOf(data) > UPPER_BOUND || moveOf(data) >= cells) continue;
+
+                // loaded entries count as left by an earlier search, so any new search may replace them
+                final long oldData = data & ~0xFF00L;
+                if (oldData == 0) continue;
+
+                final int slot = ((int) key & indexMask) * ENTRY_LONGS;
+                final long held = entries[slot + 1];
+                if (held != 0 && depthOf(held) > depthOf(oldData)) continue;
+
+                entries[slot + 1] = oldData;
+                entries[slot] = key ^ oldData;
+                loaded++;
+            }
+            return loaded;
+        }
+    }
+
+
+    private static long checksum(final long checksum, final long check, final long data) {
+        return Long.rotateLeft(checksum, 1) ^ check ^ Long.rotateLeft(data, 32);
+    }
+
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+
+    /**
+     * @param entry packed entry returned by probe
+     *
+     * @return int score found by the search
+     */
+    static int scoreOf(final long entry) { return (int) (entry >> 32); }
+
+
+    /**
+     * @param entry packed entry returned by probe
+     *
+     * @return int depth the stored score was searched to
+     */
+    static int depthOf(final long entry) { return (int) entry & 0x3F; }
+
+
+    /**
+     * @param entry packed entry returned by probe
+     *
+     * @return int EXACT, LOWER_BOUND or UPPER_BOUND
+     */
+    static int boundOf(final long entry) { return ((int) entry >>> 6) & 0x3; }
+
+
+    /**
+     * @param entry packed entry returned by probe
+     *
+     * @return int best move as a board cell index, NO_MOVE if none
+     */
+    static int moveOf(final long entry) { return ((int) entry >>> 16 & 0xFFFF) - 1; }
+
+
+    /**
+     * @return int number of entries the table holds
+     */
+    int getCapacity() { return indexMask + 1; }
+
+
+    private static int generationOf(final long packed) { return ((int) packed >>> 8) & 0xFF; }
+}
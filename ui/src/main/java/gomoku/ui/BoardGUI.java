@@ -0,0 +1,364 @@
+package gomoku.ui;
+
+import gomoku.Board;
+import gomoku.SearchResult;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.stage.Stage;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class BoardGUI extends Application {
+
+    static final int DEFAULT_BOARD_SIZE = 15;
+    static final int MAX_BOARD_SIZE = 25;
+
+    // the board keeps about the same size on screen, tiles shrinking as boards grow
+    private static final int BOARD_PIXELS = 750;
+
+    private final int boardSize;
+    private final int tileSize;
+
+    // AI deepens its search until its time per move runs out or it reaches the max depth
+    private static final int AI_MAX_DEPTH = 12;
+    private static final long AI_MOVE_TIME = 1500;
+
+    // AI moves are searched on this thread so the window stays responsive, daemon so it never holds up exit
+    private static final ExecutorService AI_THREAD = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gomoku-ai");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // the AI's analysis is kept in this file between sessions, -Dgomoku.analysis= (empty) turns that off.
+    // Boards of other sizes keep theirs next to it, see analysisFile.
+    private static final String ANALYSIS_FILE = System.getProperty("gomoku.analysis", "analysis.tt");
+
+    // game against the AI in progress, its analysis is saved when it ends or the window closes
+    private static Game aiGame;
+
+    private Tile[][] tileBoard;
+    private static Stage window;
+    private Pane root = new Pane();
+
+
+    /**
+     * Used by Application.launch, the board is only drawn for a game.
+     */
+    public BoardGUI() {
+        this(DEFAULT_BOARD_SIZE);
+    }
+
+
+    /**
+     * @param boardSize board dimensions of the game drawn.
+     */
+    BoardGUI(final int boardSize) {
+        this.boardSize = boardSize;
+        this.tileSize = BOARD_PIXELS / boardSize;
+        this.tileBoard = new Tile[boardSize][boardSize];
+    }
+
+    /**
+     * @param game current game being played.
+     *
+     * @return Parent root
+     *
+     */
+    private Parent createContent(Game game) {
+        root.setPrefSize(boardSize * tileSize + 1, boardSize * tileSize + 1);
+
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = 0; j < boardSize; j++) {
+                Tile tile = new Tile(i, j);
+                tile.setTranslateX(j * tileSize);
+                tile.setTranslateY(i * tileSize);
+
+                tile.setOnMousePressed(e -> {
+                    game.coordinates.setRow(tile.getTileRow());
+                    game.coordinates.setCol(tile.getTileCol());
+                });
+
+                root.getChildren().add(tile);
+                getTileBoard()[i][j] = tile;
+            }
+        }
+        return root;
+    }
+
+    /**
+     * @return  array matrix of tiles to represent game board.
+     */
+    Tile[][] getTileBoard() { return tileBoard; }
+
+
+    /**
+     * @param winner to load game winner on scene
+     */
+    private static void loadGameOver(String winner){
+        GameOverMenu gameOver = new GameOverMenu();
+
+        Scene gameOverScreen = new Scene(gameOver.loadGameOver(winner));
+
+        window.setScene(gameOverScreen);
+
+        window.setResizable(false);
+
+        window.centerOnScreen();
+
+        window.show();
+    }
+
+
+    /**
+     * Loads main menu
+     */
+    static void loadMainMenu() {
+
+        MainMenu mainmenu = new MainMenu();
+
+        Scene mainMenu = new Scene(mainmenu.getMainMenu());
+
+        window.setScene(mainMenu);
+
+        window.setTitle("Gomoku");
+
+        window.setResizable(false);
+
+        window.centerOnScreen();
+
+        window.show();
+    }
+
+
+    /**
+     * @param opponent
+     * 1: Human vs. Human. (default)
+     * 2: Human vs. AI random play.
+     * 3: Human vs. AI Minimax.
+     * @param boardSize board dimensions, up to MAX_BOARD_SIZE.
+     */
+    static void loadNewGame(int opponent, int boardSize) {
+
+        Game game = new Game(boardSize, 5, opponent, AI_MAX_DEPTH, AI_MOVE_TIME);
+        if (opponent == 3 && !ANALYSIS_FILE.isEmpty()) {
+            game.loadAnalysis(analysisFile(boardSize));
+            aiGame = game;
+        }
+        Scene boardGUI = new Scene(game.GUI.createContent(game));
+
+        Stage gameStage = window;
+        gameStage.setTitle("Gomoku");
+        gameStage.setScene(boardGUI);
+        gameStage.setResizable(false);
+        gameStage.centerOnScreen();
+        gameStage.show();
+
+        boardGUI.setOnMouseClicked(e -> {
+
+            // the board belongs to the AI search until its move comes back
+            if (game.isAiThinking()) return;
+
+            if (game.getOpponentType() == 1) {
+                if (!game.getGameOver()) {
+                    if (game.getDrawCount() % 2 == 0) game.playerMakeMove(game, 2);
+                    else game.playerMakeMove(game, 1);
+                    game.drawCountPlus1();
+                }
+            }
+
+            // && game.getGameBoard().isMoveAvailable(game.coordinates.getRow(), game.coordinates.getCol())
+            if (game.getOpponentType() == 2) {
+                if (!game.getGameOver()) game.playerMakeMove(game, 2);
+                if (!game.getGameOver()) game.makeMoveAIRandom(game);
+            }
+
+            if (game.getOpponentType() == 3) {
+                if (!game.getGameOver()) game.playerMakeMove(game, 2);
+                if (!game.getGameOver()) {
+                    makeMoveMinimaxInBackground(game);
+                    return;
+                }
+            }
+
+            checkGameOver(game);
+        });
+
+        // space makes the AI stop thinking and play the best move it has so far
+        boardGUI.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.SPACE && game.isAiThinking()) game.stopMinimax();
+        });
+    }
+
+
+    /**
+     * Searches for the AI's move on the AI thread and plays it back on the JavaFX application
+     * thread. Clicks are ignored until then. The AI then ponders on the human's time.
+     *
+     * @param game current game being played.
+     */
+    private static void makeMoveMinimaxInBackground(Game game) {
+        game.setAiThinking(true);
+        window.setTitle("Gomoku - thinking (space to move now)");
+
+        AI_THREAD.submit(() -> {
+            SearchResult move = null;
+            try {
+                move = game.searchMoveMinimax(game.getDepth(), 1, false);
+            }
+            finally {
+                final SearchResult result = move;
+                Platform.runLater(() -> {
+                    // the window may have been closed while the AI was thinking
+                    if (game.isClosed()) return;
+
+                    game.setAiThinking(false);
+                    window.setTitle("Gomoku");
+                    if (result != null) game.playMoveMinimax(game, result, 1);
+                    if (!game.getGameOver()) game.startPondering();
+                    checkGameOver(game);
+                });
+            }
+        });
+    }
+
+
+    /**
+     * Loads game over screen with game outcome once the game has ended.
+     *
+     * @param game current game being played.
+     */
+    private static void checkGameOver(Game game) {
+        if (game.getGameOver() || game.isBoardFull()) {
+            saveAnalysis();
+            game.close();
+            if (!game.getGameOver()) loadGameOver("Draw");
+            else {
+                String winner = game.getWinner() == 1 ? "White Wins" : "Black Wins";
+                loadGameOver(winner);
+            }
+        }
+    }
+
+
+    /**
+     * Saves the analysis of the game against the AI in progress, once per game.
+     */
+    private static void saveAnalysis() {
+        if (aiGame == null) return;
+
+        final Path file = analysisFile(aiGame.getGameBoard().getBoardSize());
+        aiGame.saveAnalysis(file);
+        aiGame = null;
+    }
+
+
+    /**
+     * An analysis only helps games on a board of its size, so each size keeps its own file.
+     *
+     * @param boardSize board dimensions.
+     *
+     * @return ANALYSIS_FILE for the default board size, else the same name with the size added
+     */
+    private static Path analysisFile(final int boardSize) {
+        if (boardSize == DEFAULT_BOARD_SIZE) return Paths.get(ANALYSIS_FILE);
+
+        final int dot = ANALYSIS_FILE.lastIndexOf('.');
+        final String size = "-" + boardSize + "x" + boardSize;
+        return Paths.get(dot > 0 ? ANALYSIS_FILE.substring(0, dot) + size + ANALYSIS_FILE.substring(dot) : ANALYSIS_FILE + size);
+    }
+
+
+    /**
+     * Loads application starting from main menu
+     */
+    @Override
+    public void start(Stage primaryStage) {
+        window = primaryStage;
+        loadMainMenu();
+    }
+
+
+    /**
+     * Saves the AI's analysis and lets its threads go when the window is closed mid game.
+     */
+    @Override
+    public void stop() {
+        final Game game = aiGame;
+        if (game == null) return;
+
+        game.stopMinimax();
+        saveAnalysis();
+        game.close();
+    }
+
+
+    /**
+     * Each individual tile on game board with coordinates and methods.
+     */
+    class Tile extends StackPane {
+
+        Text text = new Text();
+        int row, column;
+
+        Tile(int x, int y) {
+            this.row = x;
+            this.column = y;
+
+            Rectangle border = new Rectangle(tileSize, tileSize);
+            border.setFill(Color.BURLYWOOD);
+            border.setStroke(Color.BLACK);
+            text.setFont(Font.font(tileSize * 0.8));
+            setAlignment(Pos.CENTER);
+            getChildren().addAll(border, text);
+        }
+
+
+        /**
+         *
+         * @param board board to play move on.
+         * @param player player to play move for.
+         * @param row row coordinate of move.
+         * @param col column coordinate of move.
+         *
+         */
+        void makeMoveGUI(Board board, final int player, final int row, final int col) {
+            if (board.isMoveAvailable(row, col)) {
+                drawTile(player);
+                board.makeMoveMatrix(board, player, row, col);
+            }
+        }
+
+
+        /**
+         * @param player player to draw tile for.
+         */
+        private void drawTile(int player) {
+            text.setText("O");
+            if (player == 1) text.setFill(Color.WHITE);
+            else text.setFill(Color.BLACK);
+        }
+
+        int getTileRow() {
+            return row;
+        }
+
+        int getTileCol() {
+            return column;
+        }
+
+    }
+}
@@ -0,0 +1,331 @@
+package gomoku.ui;
+
+import gomoku.Board;
+import gomoku.Minimax;
+import gomoku.OpeningBook;
+import gomoku.SearchResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+public class Game {
+
+    private boolean isGameOver = false;
+    final private int opponentType;
+    private int winner = 0;
+    private int drawCount = 0;
+    final private int depth;
+    final private long moveTime;
+    private boolean aiThinking = false;
+    private boolean closed = false;
+
+    final Coordinates coordinates;
+    final private Board gameBoard;
+    final private Minimax ai;
+    BoardGUI GUI;
+
+
+    /**
+     * Game constructor creates all components needed for playing a game.
+     *
+     * @param boardSize game board size.
+     * @param winLength winning length needed to end game.
+     * @param opponentType opponent type.
+     * @param depth depth AI minimax will search to.
+     *
+     */
+    Game(final int boardSize, final int winLength, final int opponentType, final int depth) {
+        this(boardSize, winLength, opponentType, depth, 0);
+    }
+
+
+    /**
+     * Game constructor for an AI that deepens its search until a time budget runs out.
+     *
+     * @param boardSize game board size.
+     * @param winLength winning length needed to end game.
+     * @param opponentType opponent type.
+     * @param depth deepest depth AI minimax will search to.
+     * @param moveTime time budget per AI move in milliseconds, 0 to always search to depth.
+     *
+     */
+    Game(final int boardSize, final int winLength, final int opponentType, final int depth, final long moveTime) {
+        this.gameBoard = new Board(boardSize, winLength);
+        this.ai = new Minimax(gameBoard);
+        this.ai.setOpeningBook(OpeningBook.loadDefault());
+        this.GUI = new BoardGUI(boardSize);
+        this.opponentType = opponentType;
+        this.coordinates = new Coordinates(0, 0);
+        this.depth = depth;
+        this.moveTime = moveTime;
+    }
+
+
+    /**
+     * Used in Human vs. AI Random - Selects a random move from a list of available moves.
+     *
+     * @param game the game that includes the board to make a move on.
+     *
+     */
+    void makeMoveAIRandom(Game game) {
+
+        Random random = new Random();
+
+        int index = random.nextInt(game.getGameBoard().getAllAvailableMoves().size());
+
+        int[] move = game.getGameBoard().getAllAvailableMoves().get(index);
+        game.getGameBoard().getAllAvailableMoves().remove(index);
+
+        int row = move[0];
+        int col = move[1];
+
+        GUI.getTileBoard()[row][col].makeMoveGUI(game.getGameBoard(), 1, row, col);
+
+        setGameOver(checkWin(game, 1, row, col));
+    }
+
+
+    /**
+     * Chooses and makes a move for the AI
+     *
+     * @param game the game that includes the board to make a move on.
+     * @param depth depth of the tree to search for a move.
+     * @param player the player to make a move for. 2 - black, 1 - white.
+     * @param forBlack true - black's turn, false - white's (AI) turn.
+     *
+     */
+    void makeMoveMinimax(final Game game, final int depth, final int player, boolean forBlack) {
+        playMoveMinimax(game, searchMoveMinimax(depth, player, forBlack), player);
+    }
+
+
+    /**
+     * Chooses a move for the AI without playing it, so the search can run off the JavaFX
+     * application thread. The board must not be changed until it returns.
+     *
+     * @param depth depth of the tree to search for a move.
+     * @param player the player to make a move for. 2 - black, 1 - white.
+     * @param forBlack true - black's turn, false - white's (AI) turn.
+     *
+     * @return the move chosen.
+     */
+    SearchResult searchMoveMinimax(final int depth, final int player, boolean forBlack) {
+        return moveTime > 0 ? ai.getBestMoveTimed(depth, moveTime, player, forBlack)
+                            : ai.getBestMove(depth, player, forBlack);
+    }
+
+
+    /**
+     * Plays a move chosen by searchMoveMinimax on the board and its tile.
+     *
+     * @param game the game that includes the board to make a move on.
+     * @param move the move to play.
+     * @param player the player to make a move for. 2 - black, 1 - white.
+     *
+     */
+    void playMoveMinimax(final Game game, final SearchResult move, final int player) {
+
+        int row = move.getRow();
+        int col = move.getCol();
+
+        // makes move on matrix and tile
+        GUI.getTileBoard()[row][col].makeMoveGUI(gameBoard, player, row, col);
+
+        // checks if game over
+        setGameOver(checkWin(game, player, row, col));
+
+        // removes played move from available moves list
+        gameBoard.removeMove(row, col);
+    }
+
+
+    /**
+     * Asks the AI to stop thinking and play the best move it has found so far.
+     */
+    void stopMinimax() { ai.stop(); }
+
+
+    /**
+     * Lets the AI think on the human's time after its move, working out replies to the human's
+     * likeliest moves so it can answer them at once.
+     */
+    void startPondering() { ai.startPondering(2, depth, moveTime); }
+
+
+    /**
+     * Lets the AI's threads go once the game is over.
+     */
+    void close() {
+        closed = true;
+        ai.close();
+    }
+
+
+    /**
+     * Warms the AI with analysis saved by an earlier session, if there is any.
+     *
+     * @param file analysis snapshot to read.
+     */
+    void loadAnalysis(final Path file) {
+        if (!Files.exists(file)) return;
+
+        try {
+            ai.loadTable(file);
+        }
+        catch (IOException e) {
+            System.err.println("Analysis not loaded: " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * Saves the AI's analysis for the next session.
+     *
+     * @param file analysis snapshot to write.
+     */
+    void saveAnalysis(final Path file) {
+        ai.stopPondering();
+
+        try {
+            ai.saveTable(file);
+        }
+        catch (IOException e) {
+            System.err.println("Analysis not saved: " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * FOR TESTING - NOT USED IN FINAL PROGRAM.
+     *
+     * Chooses and makes a move on the matrix for the AI.
+     *
+     * @param game the game that includes the board to make a move on.
+     * @param depth depth of the tree to search for a move.
+     * @param player the player to make a move for. 2 - black, 1 - white.
+     * @param forBlack true - black's turn, false - white's (AI) turn.
+     *
+     */
+    void makeMoveMinimaxMatrix(final Game game, final int depth, final int player, boolean forBlack) {
+
+        SearchResult move = ai.getBestMove(depth, player, forBlack);
+
+        int row = move.getRow();
+        int col = move.getCol();
+
+        System.out.println(row + " " + col);
+
+        game.getGameBoard().makeMoveMatrix(game.getGameBoard(), player, row, col);
+
+        if (checkWin(game, player, row, col)) {
+            if (player == 1) setWinner(1);
+            else setWinner(2);
+            System.out.println("Player " + player + " wins!");
+            setGameOver(true);
+        }
+        getGameBoard().removeMove(row, col);
+    }
+
+
+    /**
+     * Chooses and makes a move for the player
+     *
+     * @param game the game that includes the board to make a move on.
+     * @param player player to make the move for.
+     *
+     */
+    void playerMakeMove(final Game game, final int player) {
+
+        int row = game.coordinates.getRow();
+        int col = game.coordinates.getCol();
+
+        // the AI's pondering has to finish before the board changes
+        ai.stopPondering();
+
+        if (game.getGameBoard().isMoveAvailable(row, col)){
+            GUI.getTileBoard()[row][col].makeMoveGUI(game.getGameBoard(), player, row, col);
+
+            setGameOver(checkWin(game, player, row, col));
+
+            game.getGameBoard().removeMove(row, col);
+        }
+    }
+
+    /**
+     * Checks if the last move won the game and records the winner if it did.
+     *
+     * @param game the game the move was played in.
+     * @param player player who played the move.
+     * @param row row of the move.
+     * @param col column of the move.
+     *
+     * @return true if the move won the game
+     */
+    private boolean checkWin(final Game game, final int player, final int row, final int col) {
+        if (!game.getGameBoard().checkWinAll(player, row, col)) return false;
+
+        game.setWinner(player);
+        return true;
+    }
+
+
+    Board getGameBoard() { return this.gameBoard; }
+
+    boolean getGameOver () { return this.isGameOver; }
+
+    private void setGameOver (boolean result) { this.isGameOver = result; }
+
+    int getOpponentType() { return opponentType; }
+
+    int getWinner() { return winner; }
+
+    void setWinner(int winner) { this.winner = winner; }
+
+    int getDrawCount() { return drawCount; }
+
+    boolean isBoardFull() { return gameBoard.getMoveCount() == gameBoard.getBoardSize() * gameBoard.getBoardSize(); }
+
+    void drawCountPlus1() { this.drawCount++; }
+
+    int getDepth() { return depth; }
+
+    long getMoveTime() { return moveTime; }
+
+    boolean isAiThinking() { return aiThinking; }
+
+    void setAiThinking(boolean aiThinking) { this.aiThinking = aiThinking; }
+
+    boolean isClosed() { return closed; }
+
+
+    /**
+     * Class Coordinates stores the current move played as row, column coordinates.
+     */
+    class Coordinates {
+        int row;
+        int col;
+
+        Coordinates(int row, int col) {
+            this.row = row;
+            this.col = col;
+        }
+
+        int getRow() { return row; }
+
+        int getCol() {
+            return col;
+        }
+
+        void setRow(int row) {
+            this.row = row;
+        }
+
+        void setCol(int col) {
+            this.col = col;
+        }
+    }
+}
+
+
@@ -1,3 +1,5 @@
+package gomoku.ui;
+
 import javafx.scene.control.Button;
 import javafx.fxml.Initializable;
 import java.util.ResourceBundle;
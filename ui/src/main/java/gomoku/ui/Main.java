@@ -1,3 +1,5 @@
+package gomoku.ui;
+
 import javafx.application.Application;
 
 class Main {
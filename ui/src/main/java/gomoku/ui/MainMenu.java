@@ -1,4 +1,7 @@
+package gomoku.ui;
+
 import javafx.scene.control.CheckBox;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Button;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -15,6 +18,20 @@ public class MainMenu {
     public CheckBox checkRandomAI;
     public CheckBox checkIntelligentAI;
 
+    @FXML
+    public ChoiceBox<Integer> boardSizeChoice;
+
+    /**
+     * Controller - offers every odd board size up to BoardGUI.MAX_BOARD_SIZE, so there is a centre point.
+     */
+    @FXML
+    public void initialize() {
+        for (int size = BoardGUI.DEFAULT_BOARD_SIZE; size <= BoardGUI.MAX_BOARD_SIZE; size += 2) {
+            boardSizeChoice.getItems().add(size);
+        }
+        boardSizeChoice.setValue(BoardGUI.DEFAULT_BOARD_SIZE);
+    }
+
     /**
      * @return Main menu as parent to be loaded to scene.
      */
@@ -37,7 +54,7 @@ public class MainMenu {
         int opponent = 1;
         if (checkRandomAI.isSelected()) opponent = 2;
         if (checkIntelligentAI.isSelected()) opponent = 3;
-        BoardGUI.loadNewGame(opponent);
+        BoardGUI.loadNewGame(opponent, boardSizeChoice.getValue());
     }
 }
 